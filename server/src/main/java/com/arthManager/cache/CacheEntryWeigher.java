@@ -0,0 +1,33 @@
+package com.arthManager.cache;
+
+import com.arthManager.common.dto.SliceResponse;
+import com.arthManager.finance.dto.CursorPage;
+import com.arthManager.finance.service.FinanceSuggestionIndex;
+import com.github.benmanes.caffeine.cache.Weigher;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+
+// Approximates an entry's memory by the number of rows it holds, so a cached 100-row page
+// counts 100 times as much against maximumWeight as a single DTO.
+public class CacheEntryWeigher implements Weigher<Object, Object> {
+
+    @Override
+    public int weigh(Object key, Object value) {
+        int rows;
+        if (value instanceof Slice<?> slice) {
+            rows = slice.getNumberOfElements();
+        } else if (value instanceof SliceResponse<?> slice) {
+            rows = slice.getContent().size();
+        } else if (value instanceof CursorPage<?> page) {
+            rows = page.getContent().size();
+        } else if (value instanceof FinanceSuggestionIndex index) {
+            rows = index.size();
+        } else if (value instanceof Collection<?> collection) {
+            rows = collection.size();
+        } else {
+            rows = 1;
+        }
+        return Math.max(1, rows);
+    }
+}
@@ -0,0 +1,9 @@
+package com.arthManager.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+
+// Recomputes entries of one cache from its key. Required for refresh-after-write: Caffeine reloads the
+// entry in the background, so the cache must know how to rebuild a value without the original call.
+public interface RefreshingCacheLoader extends CacheLoader<Object, Object> {
+    String cacheName();
+}
@@ -0,0 +1,79 @@
+package com.arthManager.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-user cache namespaces. Every key built by UserScopedKeyGenerator carries the user's current
+// generation; a write bumps only that user's generation, so other users' entries stay warm.
+// Generations are held in a bounded Caffeine cache and all come from one process-wide sequence, so a
+// user whose generation was evicted gets a value no cached entry was ever keyed with.
+@Component
+public class UserCacheGenerations {
+
+    // Caches whose keys come from UserScopedKeyGenerator
+    public static final List<String> USER_SCOPED_CACHES = List.of("transactions", "transaction", "tasks", "task");
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final LoadingCache<String, Long> generations;
+    private final CacheManager cacheManager;
+
+    // expireAfterAccess is longer than the longest user-scoped cache TTL, so an idle user's generation
+    // only expires after every entry keyed with it has
+    public UserCacheGenerations(CacheManager cacheManager,
+                                @Value("${arth.cache.generations.maximum-size:100000}") long maximumSize,
+                                @Value("${arth.cache.generations.expire-after-access:1h}") Duration expireAfterAccess) {
+        this.cacheManager = cacheManager;
+        this.generations = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .build(username -> sequence.incrementAndGet());
+    }
+
+    public long current(String username) {
+        return generations.get(username);
+    }
+
+    // Bumps the generation once the surrounding transaction commits (immediately when there is none),
+    // so a concurrent read cannot cache pre-commit data under the new generation
+    public void invalidate(String username) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump(username);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bump(username);
+            }
+        });
+    }
+
+    private void bump(String username) {
+        long current = sequence.incrementAndGet();
+        generations.put(username, current);
+        purgeUnboundedCaches(username, current);
+    }
+
+    // A plain ConcurrentMap cache never expires anything, so superseded generations are removed here
+    private void purgeUnboundedCaches(String username, long current) {
+        for (String cacheName : USER_SCOPED_CACHES) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null && cache.getNativeCache() instanceof ConcurrentMap<?, ?> map) {
+                map.keySet().removeIf(key -> key instanceof UserScopedKey scoped
+                        && scoped.username().equals(username)
+                        && scoped.generation() < current);
+            }
+        }
+    }
+}
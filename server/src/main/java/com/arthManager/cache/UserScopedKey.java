@@ -0,0 +1,8 @@
+package com.arthManager.cache;
+
+import org.springframework.cache.interceptor.SimpleKey;
+
+// Cache key of a per-user cache entry. Entries written under an older generation are never read again
+// once the user's generation is bumped.
+public record UserScopedKey(String username, long generation, String method, SimpleKey params) {
+}
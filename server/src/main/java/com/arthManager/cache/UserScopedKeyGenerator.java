@@ -0,0 +1,37 @@
+package com.arthManager.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+
+// Builds (username, generation, method, all arguments) keys for @Cacheable methods that take a
+// "username" parameter. Usage: @Cacheable(value = "...", keyGenerator = UserScopedKeyGenerator.NAME)
+@Component(UserScopedKeyGenerator.NAME)
+@RequiredArgsConstructor
+public class UserScopedKeyGenerator implements KeyGenerator {
+
+    public static final String NAME = "userScopedKeyGenerator";
+
+    private final UserCacheGenerations generations;
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        String username = findUsername(method, params);
+        return new UserScopedKey(username, generations.current(username), method.getName(), new SimpleKey(params));
+    }
+
+    // Relies on parameter names being compiled in (-parameters, enabled by spring-boot-starter-parent)
+    private String findUsername(Method method, Object[] params) {
+        Parameter[] parameters = method.getParameters();
+        for (int i = 0; i < parameters.length; i++) {
+            if ("username".equals(parameters[i].getName()) && params[i] instanceof String username) {
+                return username;
+            }
+        }
+        throw new IllegalStateException("Method " + method.getName() + " has no username parameter to scope its cache");
+    }
+}
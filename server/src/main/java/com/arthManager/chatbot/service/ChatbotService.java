@@ -4,7 +4,9 @@ import com.arthManager.chatbot.dto.ChatbotResponse;
 import com.arthManager.chatbot.dto.SQLGeneratorRequest;
 import com.arthManager.chatbot.dto.SQLGeneratorResponse;
 import com.arthManager.chatbot.service.client.SQLGeneratorClient;
+import com.arthManager.finance.dto.FinanceSummaryDto;
 import com.arthManager.finance.model.Finance;
+import com.arthManager.finance.service.CurrencyService;
 import com.arthManager.finance.service.FinanceService;
 import com.arthManager.task.model.Task;
 import com.arthManager.task.service.TaskService;
@@ -35,6 +37,7 @@ public class ChatbotService {
     private final UserService userService;
     private final QueryValidator queryValidator;
     private final SchemaProvider schemaProvider;
+    private final CurrencyService currencyService;
 
     @Transactional
     public ChatbotResponse processQuery(String userQuery, Long userId) {
@@ -55,6 +58,11 @@ public class ChatbotService {
                 return handleCreateOperation(userQuery, user, queryType);
             }
 
+            // Balance questions are answered from the cached summary, no SQL generation needed
+            if (queryType == QueryType.FINANCE && isBalanceQuery(userQuery)) {
+                return handleBalanceQuery(user);
+            }
+
             // For read operations, use SQL generator
             return handleReadOperation(userQuery, user, queryType);
 
@@ -114,6 +122,33 @@ public class ChatbotService {
         }
     }
 
+    private boolean isBalanceQuery(String query) {
+        String lowerQuery = query.toLowerCase();
+        return lowerQuery.contains("balance") || lowerQuery.contains("net worth");
+    }
+
+    private ChatbotResponse handleBalanceQuery(User user) {
+        FinanceSummaryDto summary = financeService.getSummary(user.getUsername());
+        String symbol = currencyService.symbol(user);
+        return new ChatbotResponse(
+                String.format("Here's your current financial summary:\n" +
+                                "Balance: %1$s%2$.2f\n" +
+                                "Total Income: %1$s%3$.2f\n" +
+                                "Total Expenses: %1$s%4$.2f\n" +
+                                "Money Lent: %1$s%5$.2f\n" +
+                                "Money Borrowed: %1$s%6$.2f\n" +
+                                "Net Balance: %1$s%7$.2f",
+                        symbol,
+                        summary.getBalance(),
+                        summary.getTotalIncome(),
+                        summary.getTotalExpense(),
+                        summary.getTotalLoan(),
+                        summary.getTotalBorrow(),
+                        summary.getNetBalance()),
+                true
+        );
+    }
+
     private QueryType determineQueryType(String query) {
         String lowerQuery = query.toLowerCase();
 
@@ -200,6 +235,7 @@ public class ChatbotService {
             Finance finance = new Finance();
             finance.setUser(user);
             finance.setAmount(details.amount);
+            finance.setCurrency(details.currency);
             finance.setDescription(details.description != null ? details.description : "Added via chatbot");
             finance.setCategory(details.category != null ? details.category : "General");
             finance.setTransactionType(details.transactionType != null ? details.transactionType : Finance.TransactionType.EXPENSE);
@@ -210,19 +246,22 @@ public class ChatbotService {
             log.info("Creating finance record with description: '{}'", finance.getDescription());
 
             Finance savedFinance = financeService.save(finance);
+            String notice = financeService.missingRateNotice(details.currency, savedFinance);
 
             return new ChatbotResponse(
                     String.format("✅ Finance record created successfully!\n" +
-                                    "Amount: ₹%.2f\n" +
+                                    "Amount: %s%.2f\n" +
                                     "Type: %s\n" +
                                     "Category: %s\n" +
                                     "Date: %s\n" +
                                     "Description: %s",
+                            currencyService.symbol(user),
                             savedFinance.getAmount(),
                             savedFinance.getTransactionType(),
                             savedFinance.getCategory(),
                             savedFinance.getTransactionDate(),
-                            savedFinance.getDescription()),
+                            savedFinance.getDescription())
+                            + (notice != null ? "\n⚠️ " + notice : ""),
                     true
             );
 
@@ -366,7 +405,7 @@ public class ChatbotService {
                 return new ChatbotResponse("I didn't find any data matching your query. Try asking about different time periods or categories.", false);
             }
 
-            String formattedResponse = formatQueryResults(results, queryType, originalQuery);
+            String formattedResponse = formatQueryResults(results, queryType, originalQuery, user);
             return new ChatbotResponse(formattedResponse, true);
 
         } catch (DataAccessException e) {
@@ -378,11 +417,11 @@ public class ChatbotService {
         }
     }
 
-    private String formatQueryResults(List<Map<String, Object>> results, QueryType queryType, String originalQuery) {
+    private String formatQueryResults(List<Map<String, Object>> results, QueryType queryType, String originalQuery, User user) {
         StringBuilder response = new StringBuilder();
 
         if (queryType == QueryType.FINANCE) {
-            response.append(formatFinanceResults(results, originalQuery));
+            response.append(formatFinanceResults(results, originalQuery, currencyService.symbol(user)));
         } else if (queryType == QueryType.TASK) {
             response.append(formatTaskResults(results, originalQuery));
         }
@@ -390,7 +429,8 @@ public class ChatbotService {
         return response.toString();
     }
 
-    private String formatFinanceResults(List<Map<String, Object>> results, String originalQuery) {
+    // Amounts in finance are stored in the user's base currency, so they are shown with its symbol
+    private String formatFinanceResults(List<Map<String, Object>> results, String originalQuery, String symbol) {
         StringBuilder sb = new StringBuilder();
 
         // Check if it's a summary query (contains aggregation)
@@ -407,7 +447,7 @@ public class ChatbotService {
                     Object value = entry.getValue();
 
                     if (value instanceof BigDecimal || value instanceof Double || value instanceof Float) {
-                        sb.append(String.format("%s: ₹%.2f\n", formatColumnName(key), value));
+                        sb.append(String.format("%s: %s%.2f\n", formatColumnName(key), symbol, value));
                     } else {
                         sb.append(String.format("%s: %s\n", formatColumnName(key), value));
                     }
@@ -429,7 +469,7 @@ public class ChatbotService {
                         row.get("transaction_date") : row.get("transactiondate");
 
                 if (amount != null) {
-                    sb.append(String.format("₹%.2f", amount));
+                    sb.append(String.format("%s%.2f", symbol, amount));
                 }
                 if (transactionType != null) {
                     sb.append(String.format(" (%s)", transactionType));
@@ -523,6 +563,8 @@ public class ChatbotService {
                     amountMatcher.group(2) != null ? amountMatcher.group(2) : amountMatcher.group(3);
             try {
                 details.amount = new BigDecimal(amountStr);
+                // Converted to the user's base currency on save when it differs
+                details.currency = amountMatcher.group(3) != null ? "USD" : "INR";
             } catch (NumberFormatException e) {
                 log.warn("Failed to parse amount: {}", amountStr);
             }
@@ -854,6 +896,7 @@ public class ChatbotService {
     // Helper classes
     private static class FinanceDetails {
         BigDecimal amount;
+        String currency;
         String description;
         String category;
         Finance.TransactionType transactionType;
@@ -25,7 +25,9 @@ public class SchemaProvider {
             - user_id (BIGINT, NOT NULL): Foreign key referencing users table
             - transaction_date (DATE, NOT NULL): Date when the transaction occurred
             - description (VARCHAR, NOT NULL): Description of the transaction
-            - amount (DECIMAL, NOT NULL): Transaction amount
+            - amount (DECIMAL, NOT NULL): Transaction amount in the user's base currency (users.base_currency)
+            - currency (VARCHAR(3)): ISO code the transaction was entered in; NULL when entered in the base currency
+            - original_amount (DECIMAL): Amount as entered in currency; NULL when entered in the base currency
             - category (VARCHAR, NOT NULL): Transaction category (Food, Transportation, Entertainment, Utilities, etc.)
             - transaction_type (VARCHAR, NOT NULL): Type of transaction (INCOME, EXPENSE, LOAN, BORROW)
             - payment_method (VARCHAR): Method of payment (Cash, Credit Card, Bank Transfer, etc.)
@@ -45,6 +47,7 @@ public class SchemaProvider {
             - email (VARCHAR): User email
             - first_name (VARCHAR): User first name
             - last_name (VARCHAR): User last name
+            - base_currency (VARCHAR(3)): Currency of finance.amount; NULL means the application default
             
             NOTES:
             - Always filter by user_id to ensure data isolation
@@ -95,7 +98,9 @@ public class SchemaProvider {
             - user_id (BIGINT, NOT NULL): Foreign key referencing users table
             - transaction_date (DATE, NOT NULL): Date when the transaction occurred
             - description (VARCHAR, NOT NULL): Description of the transaction
-            - amount (DECIMAL, NOT NULL): Transaction amount
+            - amount (DECIMAL, NOT NULL): Transaction amount in the user's base currency (users.base_currency)
+            - currency (VARCHAR(3)): ISO code the transaction was entered in; NULL when entered in the base currency
+            - original_amount (DECIMAL): Amount as entered in currency; NULL when entered in the base currency
             - category (VARCHAR, NOT NULL): Transaction category
             - transaction_type (VARCHAR, NOT NULL): Type (INCOME, EXPENSE, LOAN, BORROW)
             - payment_method (VARCHAR): Payment method
@@ -125,6 +130,7 @@ public class SchemaProvider {
             - email (VARCHAR): User email
             - first_name (VARCHAR): User first name
             - last_name (VARCHAR): User last name
+            - base_currency (VARCHAR(3)): Currency of finance.amount; NULL means the application default
             
             NOTES:
             - Always filter by user_id for data isolation
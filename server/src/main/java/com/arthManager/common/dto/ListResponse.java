@@ -0,0 +1,15 @@
+package com.arthManager.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// JSON envelope for complete (unpaged) lists: { "content": [...] }
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ListResponse<T> {
+    private List<T> content;
+}
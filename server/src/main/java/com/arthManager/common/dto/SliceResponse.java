@@ -0,0 +1,30 @@
+package com.arthManager.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+// Stable JSON envelope for count-free pages (no totalElements/totalPages, so no COUNT(*) query)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SliceResponse<T> {
+    private List<T> content;
+    private int page;
+    private int size;
+    private boolean hasNext;
+    private boolean hasPrevious;
+
+    public static <E, T> SliceResponse<T> of(Slice<E> slice, Function<? super E, ? extends T> mapper) {
+        return new SliceResponse<>(
+                slice.getContent().stream().<T>map(mapper).toList(),
+                slice.getNumber(),
+                slice.getSize(),
+                slice.hasNext(),
+                slice.hasPrevious());
+    }
+}
@@ -0,0 +1,42 @@
+package com.arthManager.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// arth.cache.defaults.* applies to every cache; arth.cache.caches[name].* overrides it per cache
+@Data
+@ConfigurationProperties(prefix = "arth.cache")
+public class ArthCacheProperties {
+
+    private Spec defaults = new Spec();
+
+    private Map<String, Spec> caches = new LinkedHashMap<>();
+
+    @Data
+    public static class Spec {
+        // Upper bound of the summed entry weights (roughly: cached rows), see CacheEntryWeigher
+        private Long maximumWeight;
+        private Duration expireAfterWrite;
+        private Duration expireAfterAccess;
+        // Only honoured for caches with a RefreshingCacheLoader
+        private Duration refreshAfterWrite;
+    }
+
+    public Spec resolve(String cacheName) {
+        Spec override = caches.get(cacheName);
+        Spec spec = new Spec();
+        spec.setMaximumWeight(pick(override != null ? override.getMaximumWeight() : null, defaults.getMaximumWeight()));
+        spec.setExpireAfterWrite(pick(override != null ? override.getExpireAfterWrite() : null, defaults.getExpireAfterWrite()));
+        spec.setExpireAfterAccess(pick(override != null ? override.getExpireAfterAccess() : null, defaults.getExpireAfterAccess()));
+        spec.setRefreshAfterWrite(pick(override != null ? override.getRefreshAfterWrite() : null, defaults.getRefreshAfterWrite()));
+        return spec;
+    }
+
+    private static <T> T pick(T value, T fallback) {
+        return value != null ? value : fallback;
+    }
+}
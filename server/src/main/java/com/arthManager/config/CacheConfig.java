@@ -0,0 +1,74 @@
+package com.arthManager.config;
+
+import com.arthManager.cache.CacheEntryWeigher;
+import com.arthManager.cache.RefreshingCacheLoader;
+import com.arthManager.cache.UserCacheGenerations;
+import com.arthManager.finance.service.CurrencyService;
+import com.arthManager.finance.service.FinanceSuggestionService;
+import com.arthManager.finance.service.FinanceSummaryService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Bounded Caffeine caches with per-cache weight/TTL limits. Statistics are recorded for every cache and
+// published by actuator (cache.gets, cache.puts, cache.evictions under /actuator/metrics).
+@Configuration
+@EnableConfigurationProperties(ArthCacheProperties.class)
+@Slf4j
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(ArthCacheProperties properties, List<RefreshingCacheLoader> loaders) {
+        Map<String, RefreshingCacheLoader> loadersByCache = loaders.stream()
+                .collect(Collectors.toMap(RefreshingCacheLoader::cacheName, Function.identity()));
+
+        Set<String> cacheNames = new LinkedHashSet<>(UserCacheGenerations.USER_SCOPED_CACHES);
+        cacheNames.add(FinanceSummaryService.CACHE_NAME);
+        cacheNames.add(FinanceSuggestionService.CACHE_NAME);
+        cacheNames.add(CurrencyService.CACHE_NAME);
+        cacheNames.addAll(properties.getCaches().keySet());
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Caches not listed here still get the default limits rather than an unbounded map
+        cacheManager.setCaffeine(builder(properties.getDefaults(), null, "default"));
+        for (String cacheName : cacheNames) {
+            RefreshingCacheLoader loader = loadersByCache.get(cacheName);
+            Caffeine<Object, Object> builder = builder(properties.resolve(cacheName), loader, cacheName);
+            cacheManager.registerCustomCache(cacheName, loader != null ? builder.build(loader) : builder.build());
+        }
+        return cacheManager;
+    }
+
+    private Caffeine<Object, Object> builder(ArthCacheProperties.Spec spec, RefreshingCacheLoader loader, String cacheName) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (spec.getMaximumWeight() != null) {
+            builder.maximumWeight(spec.getMaximumWeight()).weigher(new CacheEntryWeigher());
+        }
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        if (spec.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(spec.getExpireAfterAccess());
+        }
+        if (spec.getRefreshAfterWrite() != null) {
+            if (loader != null) {
+                builder.refreshAfterWrite(spec.getRefreshAfterWrite());
+            } else {
+                log.warn("Ignoring refresh-after-write for cache '{}': it has no RefreshingCacheLoader", cacheName);
+            }
+        }
+        return builder;
+    }
+}
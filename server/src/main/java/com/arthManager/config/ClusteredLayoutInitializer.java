@@ -0,0 +1,51 @@
+package com.arthManager.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Opt-in per-user clustered layout for InnoDB (arth.schema.clustered-layout.enabled=true).
+// InnoDB stores rows in primary-key order; with PRIMARY KEY (user_id, id) a user's rows sit on
+// adjacent pages, so per-user range scans read far fewer pages than with an id-only key.
+// id keeps a unique key so AUTO_INCREMENT and lookups by id keep working.
+// Rebuilding a table is expensive, so it is off by default and each table is skipped once converted.
+@Component
+@ConditionalOnProperty(name = "arth.schema.clustered-layout.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ClusteredLayoutInitializer implements ApplicationRunner {
+
+    private static final List<String> TABLES = List.of("finance", "task");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (String table : TABLES) {
+            if (isClustered(table)) {
+                log.info("Table {} already uses PRIMARY KEY (user_id, id)", table);
+                continue;
+            }
+            log.info("Rebuilding table {} with PRIMARY KEY (user_id, id)", table);
+            jdbcTemplate.execute("ALTER TABLE " + table
+                    + " DROP PRIMARY KEY,"
+                    + " ADD PRIMARY KEY (user_id, id),"
+                    + " ADD UNIQUE KEY uk_" + table + "_id (id)");
+        }
+    }
+
+    private boolean isClustered(String table) {
+        List<String> primaryKeyColumns = jdbcTemplate.queryForList(
+                "SELECT column_name FROM information_schema.key_column_usage"
+                        + " WHERE table_schema = DATABASE() AND table_name = ? AND constraint_name = 'PRIMARY'"
+                        + " ORDER BY ordinal_position",
+                String.class, table);
+        return !primaryKeyColumns.isEmpty() && "user_id".equalsIgnoreCase(primaryKeyColumns.get(0));
+    }
+}
@@ -0,0 +1,50 @@
+package com.arthManager.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// finance.user_id -> user.id is mapped without a constraint (Finance.user), because a partitioned finance
+// table cannot have foreign keys and Hibernate's schema update would otherwise try to re-add it on every
+// start. When partitioning is off this adds the constraint once, so unpartitioned installs keep it.
+@Component
+@ConditionalOnProperty(name = "arth.schema.finance-partitioning.enabled", havingValue = "false", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class FinanceForeignKeyInitializer implements ApplicationRunner {
+
+    private static final String CONSTRAINT = "fk_finance_user";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"MySQL".equalsIgnoreCase(product)) {
+            return;
+        }
+        Integer foreignKeys = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.referential_constraints"
+                        + " WHERE constraint_schema = DATABASE() AND table_name = 'finance' AND referenced_table_name = 'user'",
+                Integer.class);
+        Integer partitions = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.partitions"
+                        + " WHERE table_schema = DATABASE() AND table_name = 'finance' AND partition_name IS NOT NULL",
+                Integer.class);
+        if (foreignKeys == null || foreignKeys > 0) {
+            return;
+        }
+        if (partitions != null && partitions > 0) {
+            log.warn("finance is partitioned; not adding {} (set arth.schema.finance-partitioning.enabled=true)", CONSTRAINT);
+            return;
+        }
+        log.info("Adding foreign key {} on finance.user_id", CONSTRAINT);
+        jdbcTemplate.execute("ALTER TABLE finance ADD CONSTRAINT " + CONSTRAINT + " FOREIGN KEY (user_id) REFERENCES user (id)");
+    }
+}
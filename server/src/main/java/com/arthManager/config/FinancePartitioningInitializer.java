@@ -0,0 +1,127 @@
+package com.arthManager.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Opt-in RANGE partitioning of finance by YEAR(transaction_date) (arth.schema.finance-partitioning.enabled=true).
+// Queries bounded by transaction_date only open the partitions of the years they cover, and old years can
+// be dropped or archived without touching the rest of the table.
+// MySQL requires the partitioning column in every unique key and does not support foreign keys on
+// partitioned tables, so the first run adds transaction_date to the primary key, turns other unique keys
+// into plain indexes and drops finance's foreign keys. Later runs only add the coming years' partitions
+// by splitting the catch-all partition.
+@Component
+@ConditionalOnProperty(name = "arth.schema.finance-partitioning.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class FinancePartitioningInitializer implements ApplicationRunner {
+
+    private static final String TABLE = "finance";
+    private static final String CATCH_ALL = "pmax";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${arth.schema.finance-partitioning.years-ahead:2}")
+    private int yearsAhead;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int lastYear = Year.now().getValue() + yearsAhead;
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT partition_name FROM information_schema.partitions"
+                        + " WHERE table_schema = DATABASE() AND table_name = ? AND partition_name IS NOT NULL"
+                        + " ORDER BY partition_ordinal_position",
+                String.class, TABLE);
+        if (partitions.isEmpty()) {
+            partition(lastYear);
+        } else {
+            addPartitions(partitions, lastYear);
+        }
+    }
+
+    private void partition(int lastYear) {
+        // Foreign keys of finance and those of other tables referencing it, as (table, constraint)
+        List<String[]> foreignKeys = jdbcTemplate.query(
+                "SELECT table_name, constraint_name FROM information_schema.referential_constraints"
+                        + " WHERE constraint_schema = DATABASE() AND (table_name = ? OR referenced_table_name = ?)",
+                (rs, rowNum) -> new String[]{rs.getString(1), rs.getString(2)}, TABLE, TABLE);
+        for (String[] foreignKey : foreignKeys) {
+            log.info("Dropping foreign key {} on {} (not supported with partitioned tables)", foreignKey[1], foreignKey[0]);
+            jdbcTemplate.execute("ALTER TABLE " + foreignKey[0] + " DROP FOREIGN KEY " + foreignKey[1]);
+        }
+
+        Map<String, List<String>> uniqueKeys = uniqueKeys();
+        List<String> changes = new ArrayList<>();
+        List<String> primaryKey = uniqueKeys.remove("PRIMARY");
+        if (!primaryKey.contains("transaction_date")) {
+            List<String> columns = new ArrayList<>(primaryKey);
+            columns.add("transaction_date");
+            changes.add("DROP PRIMARY KEY, ADD PRIMARY KEY (" + String.join(", ", columns) + ")");
+        }
+        uniqueKeys.forEach((name, columns) -> {
+            if (!columns.contains("transaction_date")) {
+                changes.add("DROP INDEX " + name + ", ADD INDEX " + name + " (" + String.join(", ", columns) + ")");
+            }
+        });
+        if (!changes.isEmpty()) {
+            log.info("Rebuilding keys of {} to include transaction_date", TABLE);
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " " + String.join(", ", changes));
+        }
+
+        int currentYear = Year.now().getValue();
+        Integer firstYear = jdbcTemplate.queryForObject("SELECT MIN(YEAR(transaction_date)) FROM " + TABLE, Integer.class);
+        int from = firstYear != null ? Math.min(firstYear, currentYear) : currentYear;
+        log.info("Partitioning {} by year of transaction_date, {} to {}", TABLE, from, lastYear);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " PARTITION BY RANGE (YEAR(transaction_date)) ("
+                + partitionDefinitions(from, lastYear) + ")");
+    }
+
+    private void addPartitions(List<String> partitions, int lastYear) {
+        int newestYear = partitions.stream()
+                .filter(name -> !name.equals(CATCH_ALL))
+                .mapToInt(name -> Integer.parseInt(name.substring(1)))
+                .max()
+                .orElse(Year.now().getValue() - 1);
+        if (newestYear >= lastYear) {
+            return;
+        }
+        log.info("Adding partitions of {} for {} to {}", TABLE, newestYear + 1, lastYear);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + CATCH_ALL + " INTO ("
+                + partitionDefinitions(newestYear + 1, lastYear) + ")");
+    }
+
+    // p<year> holds the rows of that year; pmax catches anything dated after the last year
+    private String partitionDefinitions(int fromYear, int toYear) {
+        List<String> definitions = new ArrayList<>();
+        for (int year = fromYear; year <= toYear; year++) {
+            definitions.add("PARTITION p" + year + " VALUES LESS THAN (" + (year + 1) + ")");
+        }
+        definitions.add("PARTITION " + CATCH_ALL + " VALUES LESS THAN MAXVALUE");
+        return String.join(", ", definitions);
+    }
+
+    // Unique indexes of the table (including PRIMARY) with their columns in key order
+    private Map<String, List<String>> uniqueKeys() {
+        Map<String, List<String>> keys = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT index_name, column_name FROM information_schema.statistics"
+                        + " WHERE table_schema = DATABASE() AND table_name = ? AND non_unique = 0"
+                        + " ORDER BY index_name, seq_in_index",
+                (RowCallbackHandler) rs -> keys.computeIfAbsent(rs.getString(1), name -> new ArrayList<>())
+                        .add(rs.getString(2)),
+                TABLE);
+        return keys;
+    }
+}
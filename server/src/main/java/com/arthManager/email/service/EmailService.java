@@ -1,11 +1,17 @@
 package com.arthManager.email.service;
 
+import com.arthManager.finance.budget.dto.BudgetThresholdCrossedEvent;
+import com.arthManager.finance.dto.DueFinanceRow;
+import com.arthManager.finance.model.Finance;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 @Service
+@Slf4j
 public class EmailService {
 
     @Autowired
@@ -42,5 +48,52 @@ public class EmailService {
 
         mailSender.send(message);
     }
-}
 
+    // Queued on the task executor so the due-date job never waits on SMTP
+    @Async
+    public void sendDueReminderEmail(String to, DueFinanceRow row, boolean overdue) {
+        boolean loan = row.getTransactionType() == Finance.TransactionType.LOAN;
+        String what = loan
+                ? "the money you lent to " + row.getCounterparty()
+                : "the money you borrowed from " + row.getCounterparty();
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(to);
+        message.setSubject(overdue ? "Arth - Payment Overdue" : "Arth - Payment Due Soon");
+        message.setText(
+                "Hello " + row.getUsername() + ",\n\n" +
+                        "Repayment of " + what + " (" + row.getDescription() + ") " +
+                        (overdue ? "was due on " : "is due on ") + row.getDueDate() + ".\n" +
+                        "Outstanding amount: " + row.getAmount().subtract(row.getAmountRepaid()) + "\n\n" +
+                        "Best regards,\n" +
+                        "Arth Team"
+        );
+
+        try {
+            mailSender.send(message);
+        } catch (Exception e) {
+            log.error("Failed to send due reminder for finance record {}", row.getId(), e);
+        }
+    }
+
+    @Async
+    public void sendBudgetAlertEmail(BudgetThresholdCrossedEvent event) {
+        boolean exceeded = event.thresholdPercent() >= 100;
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(event.email());
+        message.setSubject(exceeded ? "Arth - Budget Exceeded" : "Arth - Budget Alert");
+        message.setText(
+                "Hello " + event.username() + ",\n\n" +
+                        "Your budget \"" + event.name() + "\" (" + event.category() + ") has reached " +
+                        event.thresholdPercent() + "% of its limit for " + event.month() + ".\n" +
+                        "Spent: " + event.spent() + " of " + event.limit() + "\n\n" +
+                        "Best regards,\n" +
+                        "Arth Team"
+        );
+
+        try {
+            mailSender.send(message);
+        } catch (Exception e) {
+            log.error("Failed to send budget alert for budget {}", event.budgetId(), e);
+        }
+    }
+}
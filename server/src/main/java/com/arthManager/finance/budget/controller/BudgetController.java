@@ -0,0 +1,58 @@
+package com.arthManager.finance.budget.controller;
+
+import com.arthManager.common.dto.ListResponse;
+import com.arthManager.finance.budget.dto.AddBudget;
+import com.arthManager.finance.budget.dto.BudgetDto;
+import com.arthManager.finance.budget.service.BudgetService;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/finance/budgets")
+@AllArgsConstructor
+public class BudgetController {
+
+    @Autowired
+    private BudgetService budgetService;
+
+    // Budgets with the current month's spend: { "content": [ { id, name, category, limit, spent, ... } ] }
+    @GetMapping
+    public ResponseEntity<ListResponse<BudgetDto>> getBudgets(
+            @AuthenticationPrincipal(expression = "username") String username) {
+        return ResponseEntity.ok(budgetService.getBudgets(username));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<BudgetDto> getBudget(
+            @PathVariable Long id,
+            @AuthenticationPrincipal(expression = "username") String username) {
+        return ResponseEntity.ok(budgetService.getBudget(username, id));
+    }
+
+    @PostMapping
+    public ResponseEntity<BudgetDto> createBudget(
+            @Valid @RequestBody AddBudget addBudget,
+            @AuthenticationPrincipal(expression = "username") String username) {
+        return ResponseEntity.ok(budgetService.createBudget(username, addBudget));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<BudgetDto> updateBudget(
+            @PathVariable Long id,
+            @Valid @RequestBody AddBudget addBudget,
+            @AuthenticationPrincipal(expression = "username") String username) {
+        return ResponseEntity.ok(budgetService.updateBudget(username, id, addBudget));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteBudget(
+            @PathVariable Long id,
+            @AuthenticationPrincipal(expression = "username") String username) {
+        budgetService.deleteBudget(username, id);
+        return ResponseEntity.ok("Budget deleted successfully");
+    }
+}
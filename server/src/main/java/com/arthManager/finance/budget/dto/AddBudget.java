@@ -0,0 +1,22 @@
+package com.arthManager.finance.budget.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class AddBudget {
+    @NotBlank(message = "Name is required")
+    private String name;
+
+    // Matched against Finance.category of EXPENSE transactions
+    @NotBlank(message = "Category is required")
+    private String category;
+
+    @NotNull(message = "Limit is required")
+    @DecimalMin(value = "0.01", message = "Limit must be greater than zero")
+    private BigDecimal limit;
+}
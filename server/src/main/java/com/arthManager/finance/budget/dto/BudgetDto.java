@@ -0,0 +1,16 @@
+package com.arthManager.finance.budget.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class BudgetDto {
+    private Long id;
+    private String name;
+    private String category;
+    private BigDecimal limit;
+    private BigDecimal spent; // EXPENSE total of the category in month
+    private BigDecimal remaining;
+    private String month; // YYYY-MM
+}
@@ -0,0 +1,16 @@
+package com.arthManager.finance.budget.dto;
+
+import java.math.BigDecimal;
+
+// Published on the write path when an expense pushes a budget past a threshold (percent of its limit)
+public record BudgetThresholdCrossedEvent(
+        Long budgetId,
+        String username,
+        String email,
+        String name,
+        String category,
+        String month,
+        BigDecimal limit,
+        BigDecimal spent,
+        int thresholdPercent) {
+}
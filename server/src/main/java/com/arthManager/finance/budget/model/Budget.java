@@ -0,0 +1,71 @@
+package com.arthManager.finance.budget.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Monthly spending limit for one expense category. spent is maintained incrementally by
+// BudgetService for periodMonth and restarted from the monthly rollup when a new month begins.
+@Entity
+@Table(name = "budget", indexes = {
+        // Write path: budgets touched by an EXPENSE in (user, category, month)
+        @Index(name = "idx_budget_user_category_month", columnList = "user_id, category, period_month")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Budget {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    @Column(name = "category", nullable = false)
+    private String category;
+
+    // Not called "limit": LIMIT is a reserved word in SQL
+    @Column(name = "limit_amount", nullable = false)
+    private BigDecimal limitAmount;
+
+    // Month that spent refers to, formatted as YYYY-MM
+    @Column(name = "period_month", nullable = false, length = 7)
+    private String periodMonth;
+
+    @Column(name = "spent", nullable = false)
+    private BigDecimal spent = BigDecimal.ZERO;
+
+    // Highest threshold (percent of the limit) already reported for periodMonth
+    @Column(name = "alerted_percent", nullable = false)
+    private Integer alertedPercent = 0;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Trimmed like Finance.setCategory, so the budget matches its expenses
+    public void setCategory(String category) {
+        this.category = category != null ? category.trim() : null;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,82 @@
+package com.arthManager.finance.budget.repository;
+
+import com.arthManager.finance.budget.model.Budget;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BudgetRepository extends JpaRepository<Budget, Long> {
+
+    List<Budget> findByUserIdOrderByNameAscIdAsc(Long userId);
+
+    Optional<Budget> findByIdAndUserId(Long id, Long userId);
+
+    // Rollover job: budgets still tracking another month, in id order for keyset chunks
+    List<Budget> findByPeriodMonthNotAndIdGreaterThanOrderByIdAsc(String month, Long afterId, Limit limit);
+
+    // Atomic in-database increment of every budget of the category tracking the given month
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Budget b SET b.spent = b.spent + :delta"
+            + " WHERE b.userId = :userId AND b.category = :category AND b.periodMonth = :month")
+    int addToSpent(
+            @Param("userId") Long userId,
+            @Param("category") String category,
+            @Param("month") String month,
+            @Param("delta") BigDecimal delta);
+
+    // Write path: moves the category's budgets to a new month with the spend recorded in the monthly rollup,
+    // which already includes the current write. Expenses of that month entered before the rollover
+    // (future-dated, recurring catch-up, bulk import) are counted too.
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Budget b SET b.periodMonth = :month, b.spent = :spent, b.alertedPercent = 0"
+            + " WHERE b.userId = :userId AND b.category = :category AND b.periodMonth <> :month")
+    int startMonth(
+            @Param("userId") Long userId,
+            @Param("category") String category,
+            @Param("month") String month,
+            @Param("spent") BigDecimal spent);
+
+    // Rollover job: moves one budget to a new month with the spend already recorded in the monthly rollup.
+    // 0 rows when a concurrent expense write moved it first (its total then already includes that write).
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Budget b SET b.periodMonth = :month, b.spent = :spent, b.alertedPercent = :alertedPercent"
+            + " WHERE b.id = :id AND b.periodMonth <> :month")
+    int startMonth(
+            @Param("id") Long id,
+            @Param("month") String month,
+            @Param("spent") BigDecimal spent,
+            @Param("alertedPercent") int alertedPercent);
+
+    // Current values read from the database (not from managed entities that may predate addToSpent)
+    @Query("SELECT b.id AS id, b.name AS name, b.limitAmount AS limitAmount, b.spent AS spent, b.alertedPercent AS alertedPercent"
+            + " FROM Budget b WHERE b.userId = :userId AND b.category = :category AND b.periodMonth = :month")
+    List<BudgetSpend> findSpend(
+            @Param("userId") Long userId,
+            @Param("category") String category,
+            @Param("month") String month);
+
+    interface BudgetSpend {
+        Long getId();
+
+        String getName();
+
+        BigDecimal getLimitAmount();
+
+        BigDecimal getSpent();
+
+        Integer getAlertedPercent();
+    }
+
+    // Raises the reported threshold; 0 rows when this or a higher threshold was already reported
+    @Modifying
+    @Query("UPDATE Budget b SET b.alertedPercent = :percent WHERE b.id = :id AND b.alertedPercent < :percent")
+    int raiseAlertedPercent(@Param("id") Long id, @Param("percent") int percent);
+}
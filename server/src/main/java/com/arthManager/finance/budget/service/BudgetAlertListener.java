@@ -0,0 +1,30 @@
+package com.arthManager.finance.budget.service;
+
+import com.arthManager.email.service.EmailService;
+import com.arthManager.finance.budget.dto.BudgetThresholdCrossedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Notifies users once the expense that crossed a budget threshold has committed
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BudgetAlertListener {
+
+    private final EmailService emailService;
+
+    @TransactionalEventListener
+    public void onThresholdCrossed(BudgetThresholdCrossedEvent event) {
+        if (event.email() == null || event.email().isEmpty()) {
+            return;
+        }
+        try {
+            emailService.sendBudgetAlertEmail(event);
+        } catch (TaskRejectedException e) {
+            log.warn("Mail queue full, skipped budget alert for budget {}", event.budgetId());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.arthManager.finance.budget.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+// Moves budgets still on an earlier month to the current one, restarting spent from the monthly rollup.
+// Runs when a month begins and once at startup to catch up after downtime; budget reads never write.
+// Walks the budget table in id-keyset chunks, one transaction per chunk.
+@Component
+@ConditionalOnProperty(name = "arth.finance.budget.rollover.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class BudgetRolloverJob {
+
+    private final BudgetService budgetService;
+
+    @Value("${arth.finance.budget.rollover.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${arth.finance.budget.rollover.run-on-startup:true}")
+    private boolean runOnStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUp() {
+        if (runOnStartup) {
+            run();
+        }
+    }
+
+    @Scheduled(cron = "${arth.finance.budget.rollover.cron:0 1 0 1 * *}")
+    public void run() {
+        String month = YearMonth.now().toString();
+        Long afterId = 0L;
+        int budgets = 0;
+        BudgetService.RolloverChunk chunk;
+        do {
+            chunk = budgetService.rolloverChunk(month, afterId, chunkSize);
+            budgets += chunk.budgets();
+            afterId = chunk.lastId();
+        } while (chunk.budgets() == chunkSize);
+        log.info("Budget rollover to {}: {} budgets restarted", month, budgets);
+    }
+}
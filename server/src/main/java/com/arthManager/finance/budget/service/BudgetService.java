@@ -0,0 +1,205 @@
+package com.arthManager.finance.budget.service;
+
+import com.arthManager.common.dto.ListResponse;
+import com.arthManager.finance.budget.dto.AddBudget;
+import com.arthManager.finance.budget.dto.BudgetDto;
+import com.arthManager.finance.budget.dto.BudgetThresholdCrossedEvent;
+import com.arthManager.finance.budget.model.Budget;
+import com.arthManager.finance.budget.repository.BudgetRepository;
+import com.arthManager.finance.model.Finance;
+import com.arthManager.finance.repository.FinanceMonthlyRollupRepository;
+import com.arthManager.user.model.User;
+import com.arthManager.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Monthly per-category budgets. FinanceService calls apply() for every write, which moves spent by the
+// EXPENSE delta in the database and reports thresholds (percent of the limit) the first time they are
+// reached in a month. A budget from an earlier month is restarted from the maintained monthly rollup by
+// the first expense write of the month or by BudgetRolloverJob; reads never write and show such a
+// budget with the current month's rollup spend.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BudgetService {
+
+    private final BudgetRepository budgetRepository;
+    private final FinanceMonthlyRollupRepository rollupRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${arth.finance.budget.alert-thresholds:80,100}")
+    private List<Integer> alertThresholds;
+
+    private record SpendKey(String category, String month) {
+    }
+
+    public record RolloverChunk(int budgets, Long lastId) {
+    }
+
+    private User getUserByUsername(String username) {
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+    }
+
+    // sign is +1 for records being added and -1 for records being removed; only EXPENSE rows count
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(User user, Collection<Finance> records, int sign) {
+        Map<SpendKey, BigDecimal> deltas = new LinkedHashMap<>();
+        for (Finance finance : records) {
+            if (finance.getTransactionType() == Finance.TransactionType.EXPENSE) {
+                deltas.merge(new SpendKey(finance.getCategory(), YearMonth.from(finance.getTransactionDate()).toString()),
+                        finance.getAmount(), BigDecimal::add);
+            }
+        }
+        String currentMonth = YearMonth.now().toString();
+        deltas.forEach((key, amount) -> {
+            BigDecimal delta = sign < 0 ? amount.negate() : amount;
+            // Budgets tracking another month are left alone; no matching budget costs one indexed UPDATE
+            int updated = budgetRepository.addToSpent(user.getId(), key.category(), key.month(), delta);
+            // Budgets still on an earlier month restart from the rollup, which was applied first in this
+            // transaction and so already holds this write; hence after addToSpent, never before
+            if (key.month().equals(currentMonth)) {
+                updated += budgetRepository.startMonth(user.getId(), key.category(), key.month(),
+                        monthSpend(user.getId(), key.category(), key.month()));
+            }
+            if (updated > 0 && delta.signum() > 0) {
+                detectThresholds(user, key);
+            }
+        });
+    }
+
+    private void detectThresholds(User user, SpendKey key) {
+        for (BudgetRepository.BudgetSpend budget : budgetRepository.findSpend(user.getId(), key.category(), key.month())) {
+            int reached = reachedThreshold(budget.getLimitAmount(), budget.getSpent());
+            // The conditional UPDATE makes sure each threshold is reported once per month
+            if (reached > budget.getAlertedPercent() && budgetRepository.raiseAlertedPercent(budget.getId(), reached) == 1) {
+                log.info("Budget {} of user {} reached {}% of its limit", budget.getId(), user.getId(), reached);
+                eventPublisher.publishEvent(new BudgetThresholdCrossedEvent(budget.getId(), user.getUsername(),
+                        user.getEmail(), budget.getName(), key.category(), key.month(), budget.getLimitAmount(),
+                        budget.getSpent(), reached));
+            }
+        }
+    }
+
+    // Highest configured threshold that spent has reached, or 0
+    private int reachedThreshold(BigDecimal limit, BigDecimal spent) {
+        int reached = 0;
+        for (int threshold : alertThresholds) {
+            if (threshold > reached
+                    && spent.multiply(BigDecimal.valueOf(100)).compareTo(limit.multiply(BigDecimal.valueOf(threshold))) >= 0) {
+                reached = threshold;
+            }
+        }
+        return reached;
+    }
+
+    @Transactional(readOnly = true)
+    public ListResponse<BudgetDto> getBudgets(String username) {
+        User user = getUserByUsername(username);
+        String month = YearMonth.now().toString();
+        return new ListResponse<>(budgetRepository.findByUserIdOrderByNameAscIdAsc(user.getId()).stream()
+                .map(budget -> toDto(budget, month)).toList());
+    }
+
+    // Primary-key lookup; the month's spend is already on the row
+    @Transactional(readOnly = true)
+    public BudgetDto getBudget(String username, Long id) {
+        User user = getUserByUsername(username);
+        Budget budget = budgetRepository.findByIdAndUserId(id, user.getId())
+                .orElseThrow(() -> new RuntimeException("Budget not found or not authorized"));
+        return toDto(budget, YearMonth.now().toString());
+    }
+
+    // Restarts one chunk of budgets still on an earlier month from the rollup. Thresholds the month's
+    // spend has already reached are marked as reported without an alert, as for a new budget.
+    @Transactional
+    public RolloverChunk rolloverChunk(String month, Long afterId, int chunkSize) {
+        List<Budget> budgets = budgetRepository.findByPeriodMonthNotAndIdGreaterThanOrderByIdAsc(month, afterId,
+                Limit.of(chunkSize));
+        for (Budget budget : budgets) {
+            BigDecimal spent = monthSpend(budget.getUserId(), budget.getCategory(), month);
+            budgetRepository.startMonth(budget.getId(), month, spent, reachedThreshold(budget.getLimitAmount(), spent));
+        }
+        return new RolloverChunk(budgets.size(), budgets.isEmpty() ? afterId : budgets.get(budgets.size() - 1).getId());
+    }
+
+    @Transactional
+    public BudgetDto createBudget(String username, AddBudget addBudget) {
+        User user = getUserByUsername(username);
+        Budget budget = new Budget();
+        budget.setUserId(user.getId());
+        applyFields(budget, addBudget);
+        return toDto(budgetRepository.save(budget));
+    }
+
+    @Transactional
+    public BudgetDto updateBudget(String username, Long id, AddBudget addBudget) {
+        User user = getUserByUsername(username);
+        Budget budget = budgetRepository.findByIdAndUserId(id, user.getId())
+                .orElseThrow(() -> new RuntimeException("Budget not found or not authorized"));
+        applyFields(budget, addBudget);
+        return toDto(budgetRepository.save(budget));
+    }
+
+    @Transactional
+    public void deleteBudget(String username, Long id) {
+        User user = getUserByUsername(username);
+        Budget budget = budgetRepository.findByIdAndUserId(id, user.getId())
+                .orElseThrow(() -> new RuntimeException("Budget not found or not authorized"));
+        budgetRepository.delete(budget);
+    }
+
+    // (Re)starts the current month from the rollup; thresholds already reached are not reported again
+    private void applyFields(Budget budget, AddBudget addBudget) {
+        String month = YearMonth.now().toString();
+        budget.setName(addBudget.getName());
+        budget.setCategory(addBudget.getCategory());
+        budget.setLimitAmount(addBudget.getLimit());
+        budget.setPeriodMonth(month);
+        budget.setSpent(monthSpend(budget.getUserId(), budget.getCategory(), month));
+        budget.setAlertedPercent(reachedThreshold(budget.getLimitAmount(), budget.getSpent()));
+    }
+
+    private BigDecimal monthSpend(Long userId, String category, String month) {
+        return rollupRepository.findTotal(userId, month, category, Finance.TransactionType.EXPENSE);
+    }
+
+    private BudgetDto toDto(Budget budget) {
+        BudgetDto dto = new BudgetDto();
+        dto.setId(budget.getId());
+        dto.setName(budget.getName());
+        dto.setCategory(budget.getCategory());
+        dto.setLimit(budget.getLimitAmount());
+        dto.setSpent(budget.getSpent());
+        dto.setRemaining(budget.getLimitAmount().subtract(budget.getSpent()));
+        dto.setMonth(budget.getPeriodMonth());
+        return dto;
+    }
+
+    // A budget the rollover has not reached yet is shown for `month` with the rollup's spend, without writing
+    private BudgetDto toDto(Budget budget, String month) {
+        BudgetDto dto = toDto(budget);
+        if (!month.equals(budget.getPeriodMonth())) {
+            BigDecimal spent = monthSpend(budget.getUserId(), budget.getCategory(), month);
+            dto.setSpent(spent);
+            dto.setRemaining(budget.getLimitAmount().subtract(spent));
+            dto.setMonth(month);
+        }
+        return dto;
+    }
+}
@@ -1,16 +1,39 @@
 package com.arthManager.finance.controller;
 
 import com.arthManager.finance.dto.AddFinance;
+import com.arthManager.finance.dto.AddRecurringFinance;
+import com.arthManager.finance.dto.AddRepayment;
+import com.arthManager.finance.dto.BalancePointDto;
+import com.arthManager.finance.dto.CounterpartyPositionDto;
+import com.arthManager.finance.dto.FinanceAnalyticsDto;
 import com.arthManager.finance.dto.FinanceDto;
+import com.arthManager.finance.dto.FinanceFilter;
+import com.arthManager.finance.dto.FinanceSummaryDto;
+import com.arthManager.finance.dto.MonthlyRollupDto;
+import com.arthManager.finance.dto.RecurringFinanceDto;
+import com.arthManager.finance.dto.RepaymentDto;
+import com.arthManager.finance.dto.SuggestionDto;
+import com.arthManager.finance.dto.TimeSeriesPointDto;
+import com.arthManager.finance.model.Finance;
+import com.arthManager.finance.service.CurrencyService;
+import com.arthManager.finance.service.FinanceCompactionService;
+import com.arthManager.finance.service.FinanceExportService;
+import com.arthManager.finance.service.FinanceRepaymentService;
+import com.arthManager.finance.service.RecurringFinanceService;
 import com.arthManager.finance.service.FinanceService;
+import com.arthManager.finance.service.FinanceTimeSeriesService;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/finance")
@@ -18,6 +41,24 @@ import org.springframework.web.bind.annotation.*;
 public class FinanceController {
     @Autowired
     private FinanceService financeService;
+
+    @Autowired
+    private FinanceExportService financeExportService;
+
+    @Autowired
+    private FinanceRepaymentService financeRepaymentService;
+
+    @Autowired
+    private RecurringFinanceService recurringFinanceService;
+
+    @Autowired
+    private FinanceTimeSeriesService financeTimeSeriesService;
+
+    @Autowired
+    private FinanceCompactionService financeCompactionService;
+
+    @Autowired
+    private CurrencyService currencyService;
     // private final FinanceService financeService;
 
     // @Autowired
@@ -25,16 +66,111 @@ public class FinanceController {
     // this.financeService = financeService;
     // }
 
-    // Get paginatated finance records (Transactions) for the authenticated user
+    // Get paginatated finance records (Transactions) for the authenticated user.
+    // Filters (all optional): type, category (comma-separated list), paymentMethod, dueStatus,
+    // minAmount, maxAmount, startDate, endDate; ordering via ?sort=property,asc|desc.
+    // pagination=cursor (or any cursor value) switches to keyset paging: the response carries nextCursor
+    // which is passed back as ?cursor= for the following page.
+    // pagination=slice returns a SliceResponse (hasNext/hasPrevious, no totals) and skips the COUNT(*) query.
     @GetMapping("/transactions")
-    public Page<FinanceDto> getTransactions(
-            @RequestParam(required = false) String type,
-            @RequestParam(required = false) String category,
+    public ResponseEntity<?> getTransactions(
+            FinanceFilter filter,
+            @RequestParam(required = false) String pagination,
+            @RequestParam(required = false) String cursor,
+            Pageable pageable,
+            @AuthenticationPrincipal(expression = "username") String username) {
+        if ("cursor".equalsIgnoreCase(pagination) || cursor != null) {
+            return ResponseEntity.ok(financeService.getTransactionsAfter(username, filter, cursor, pageable.getPageSize()));
+        }
+        if ("slice".equalsIgnoreCase(pagination)) {
+            return ResponseEntity.ok(financeService.getTransactionSlice(username, filter, pageable));
+        }
+        return ResponseEntity.ok(financeService.getTransactions(username, filter, pageable));
+    }
+
+    // Streams every matching transaction as CSV (default) or NDJSON; accepts the same filters as /transactions
+    @GetMapping("/transactions/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            FinanceFilter filter,
+            @RequestParam(defaultValue = "csv") String format,
+            @AuthenticationPrincipal(expression = "username") String username) {
+        FinanceExportService.Format exportFormat = FinanceExportService.Format.from(format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transactions." + exportFormat.getExtension() + "\"")
+                .body(financeExportService.export(username, filter, exportFormat));
+    }
+
+    // Totals per type, category, payment method and month, aggregated by the database
+    @GetMapping("/analytics")
+    public ResponseEntity<FinanceAnalyticsDto> getAnalytics(
             @RequestParam(required = false) String startDate,
             @RequestParam(required = false) String endDate,
-            Pageable pageable,
             @AuthenticationPrincipal(expression = "username") String username) {
-        return financeService.getTransactions(username, type, category, startDate, endDate, pageable);
+        return ResponseEntity.ok(financeService.getAnalytics(username, startDate, endDate));
+    }
+
+    // Balance and lifetime totals per transaction type (cached until the next finance write)
+    @GetMapping("/summary")
+    public ResponseEntity<FinanceSummaryDto> getSummary(
+            @AuthenticationPrincipal(expression = "username") String username) {
+        return ResponseEntity.ok(financeService.getSummary(username));
+    }
+
+    // Maintained per-month totals by category and type; months formatted as YYYY-MM
+    @GetMapping("/rollups")
+    public ResponseEntity<List<MonthlyRollupDto>> getMonthlyRollups(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @AuthenticationPrincipal(expression = "username") String username) {
+        return ResponseEntity.ok(financeService.getMonthlyRollups(username, from, to));
+    }
+
+    // Zero-filled income/expense/net series for charts; interval is DAY, WEEK or MONTH (default)
+    @GetMapping("/timeseries")
+    public ResponseEntity<List<TimeSeriesPointDto>> getTimeSeries(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "MONTH") String interval,
+            @AuthenticationPrincipal(expression = "username") String username) {
+        return ResponseEntity.ok(financeTimeSeriesService.getTimeSeries(username, from, to, interval));
+    }
+
+    // Balance at the end of a date (YYYY-MM-DD, default today)
+    @GetMapping("/balance")
+    public ResponseEntity<BalancePointDto> getBalance(
+            @RequestParam(required = false) String date,
+            @AuthenticationPrincipal(expression = "username") String username) {
+        return ResponseEntity.ok(financeService.getBalanceAt(username, date));
+    }
+
+    // Balance series for charts; interval is DAY (default, up to 366 days) or MONTH
+    @GetMapping("/balance/history")
+    public ResponseEntity<List<BalancePointDto>> getBalanceHistory(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false, defaultValue = "DAY") String interval,
+            @AuthenticationPrincipal(expression = "username") String username) {
+        return ResponseEntity.ok(financeService.getBalanceHistory(username, from, to, interval));
+    }
+
+    // Typeahead for the transaction form: values of the user's own transactions, most used first
+    @GetMapping("/suggestions")
+    public ResponseEntity<List<SuggestionDto>> getSuggestions(
+            @RequestParam(defaultValue = "category") String field,
+            @RequestParam(required = false) String prefix,
+            @RequestParam(defaultValue = "10") int limit,
+            @AuthenticationPrincipal(expression = "username") String username) {
+        return ResponseEntity.ok(financeService.getSuggestions(username, field, prefix, limit));
+    }
+
+    // Currency every amount is stored and reported in; it can only change before the first transaction
+    @PutMapping("/base-currency")
+    public ResponseEntity<?> setBaseCurrency(
+            @RequestParam String currency,
+            @AuthenticationPrincipal(expression = "username") String username) {
+        return ResponseEntity.ok("Base currency set to " + currencyService.setBaseCurrency(username, currency));
     }
 
     // Get a single transaction by ID
@@ -59,8 +195,93 @@ public class FinanceController {
     public ResponseEntity<?> createFinanceRecord(
             @Valid @RequestBody AddFinance addFinance,
             @AuthenticationPrincipal(expression = "username") String username) {
-        financeService.createFinanceRecord(addFinance, username);
-        return ResponseEntity.ok("Finance record created successfully");
+        Finance saved = financeService.createFinanceRecord(addFinance, username);
+        String notice = financeService.missingRateNotice(addFinance.getCurrency(), saved);
+        return ResponseEntity.ok(notice != null ? "Finance record created successfully. " + notice
+                : "Finance record created successfully");
+    }
+
+    // Creates many records in one transaction; the whole batch is rejected if any item is invalid
+    @PostMapping("/bulk")
+    public ResponseEntity<?> createFinanceRecords(
+            @RequestBody List<AddFinance> addFinances,
+            @AuthenticationPrincipal(expression = "username") String username) {
+        int created = financeService.createFinanceRecords(addFinances, username);
+        return ResponseEntity.ok(created + " finance records created successfully");
+    }
+
+    // Records a repayment against a LOAN/BORROW; the status becomes PARTIALLY_PAID or PAID accordingly
+    @PostMapping("/transactions/{id}/repayments")
+    public ResponseEntity<RepaymentDto> addRepayment(
+            @PathVariable Long id,
+            @Valid @RequestBody AddRepayment addRepayment,
+            @AuthenticationPrincipal(expression = "username") String username) {
+        return ResponseEntity.ok(financeRepaymentService.addRepayment(username, id, addRepayment));
+    }
+
+    @GetMapping("/transactions/{id}/repayments")
+    public ResponseEntity<List<RepaymentDto>> getRepayments(
+            @PathVariable Long id,
+            @AuthenticationPrincipal(expression = "username") String username) {
+        return ResponseEntity.ok(financeRepaymentService.getRepayments(username, id));
+    }
+
+    @DeleteMapping("/repayments/{id}")
+    public ResponseEntity<?> deleteRepayment(
+            @PathVariable Long id,
+            @AuthenticationPrincipal(expression = "username") String username) {
+        financeRepaymentService.deleteRepayment(username, id);
+        return ResponseEntity.ok("Repayment deleted successfully");
+    }
+
+    // Outstanding loan/borrow amounts per counterparty; ?type=LOAN|BORROW, ?open=true hides settled ones
+    @GetMapping("/counterparties")
+    public ResponseEntity<List<CounterpartyPositionDto>> getCounterpartyPositions(
+            @RequestParam(required = false) Finance.TransactionType type,
+            @RequestParam(defaultValue = "false") boolean open,
+            @AuthenticationPrincipal(expression = "username") String username) {
+        return ResponseEntity.ok(financeRepaymentService.getPositions(username, type, open));
+    }
+
+    // Recurring INCOME/EXPENSE definitions; due occurrences are generated daily as regular transactions
+    @GetMapping("/recurring")
+    public ResponseEntity<List<RecurringFinanceDto>> getRecurring(
+            @AuthenticationPrincipal(expression = "username") String username) {
+        return ResponseEntity.ok(recurringFinanceService.getDefinitions(username));
+    }
+
+    @PostMapping("/recurring")
+    public ResponseEntity<RecurringFinanceDto> createRecurring(
+            @Valid @RequestBody AddRecurringFinance addRecurringFinance,
+            @AuthenticationPrincipal(expression = "username") String username) {
+        return ResponseEntity.ok(recurringFinanceService.create(username, addRecurringFinance));
+    }
+
+    @PutMapping("/recurring/{id}")
+    public ResponseEntity<RecurringFinanceDto> updateRecurring(
+            @PathVariable Long id,
+            @Valid @RequestBody AddRecurringFinance addRecurringFinance,
+            @AuthenticationPrincipal(expression = "username") String username) {
+        return ResponseEntity.ok(recurringFinanceService.update(username, id, addRecurringFinance));
+    }
+
+    @DeleteMapping("/recurring/{id}")
+    public ResponseEntity<?> deleteRecurring(
+            @PathVariable Long id,
+            @AuthenticationPrincipal(expression = "username") String username) {
+        recurringFinanceService.delete(username, id);
+        return ResponseEntity.ok("Recurring transaction deleted successfully");
+    }
+
+    // Opt in to compaction of income/expense older than `years` into monthly summary rows; omit years to opt out
+    @PutMapping("/compaction")
+    public ResponseEntity<?> setCompaction(
+            @RequestParam(required = false) Integer years,
+            @AuthenticationPrincipal(expression = "username") String username) {
+        financeCompactionService.setCompactAfterYears(username, years);
+        return ResponseEntity.ok(years != null
+                ? "Transactions older than " + years + " years will be compacted"
+                : "Compaction disabled");
     }
 
     @DeleteMapping("/transactions/delete/{id}")
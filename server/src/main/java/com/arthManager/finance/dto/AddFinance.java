@@ -20,6 +20,10 @@ public class AddFinance {
     @DecimalMin(value = "0.01", message = "Amount must be greater than zero")
     private BigDecimal amount;
 
+    // ISO 4217 code of amount, e.g. "USD"; omitted means the user's base currency
+    @Pattern(regexp = "[A-Za-z]{3}", message = "Currency must be a 3-letter ISO 4217 code")
+    private String currency;
+
     @NotBlank(message = "Category is required")
     private String category;
 
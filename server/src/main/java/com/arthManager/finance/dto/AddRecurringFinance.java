@@ -0,0 +1,43 @@
+package com.arthManager.finance.dto;
+
+import com.arthManager.finance.model.Finance;
+import com.arthManager.finance.model.RecurringFinance;
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+public class AddRecurringFinance {
+    @NotBlank(message = "Description is required")
+    private String description;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than zero")
+    private BigDecimal amount;
+
+    @NotBlank(message = "Category is required")
+    private String category;
+
+    // INCOME or EXPENSE
+    @NotNull(message = "Transaction type is required")
+    private Finance.TransactionType transactionType;
+
+    private String paymentMethod;
+    private String counterparty;
+
+    @NotNull(message = "Frequency is required")
+    private RecurringFinance.Frequency frequency;
+
+    @Min(value = 1, message = "Interval must be at least 1")
+    @Max(value = 366, message = "Interval must be at most 366")
+    private Integer intervalCount = 1;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    private Boolean active = true;
+}
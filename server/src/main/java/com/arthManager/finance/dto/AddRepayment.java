@@ -0,0 +1,22 @@
+package com.arthManager.finance.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+public class AddRepayment {
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than zero")
+    private BigDecimal amount;
+
+    // Defaults to today
+    @PastOrPresent(message = "Repayment date must be in the past or present")
+    private LocalDate repaymentDate;
+
+    private String note;
+}
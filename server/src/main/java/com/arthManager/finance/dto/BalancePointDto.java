@@ -0,0 +1,17 @@
+package com.arthManager.finance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Balance at the end of a day; also used for the per-day balance effect (INCOME - EXPENSE)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalancePointDto {
+    private LocalDate date;
+    private BigDecimal balance;
+}
@@ -0,0 +1,30 @@
+package com.arthManager.finance.dto;
+
+import com.arthManager.finance.model.Finance;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Outstanding LOAN (owed to the user) or BORROW (owed by the user) amount for one counterparty
+@Data
+@NoArgsConstructor
+public class CounterpartyPositionDto {
+    private String counterparty;
+    private Finance.TransactionType transactionType;
+    private BigDecimal principal;
+    private BigDecimal repaid;
+    private BigDecimal outstanding;
+    private Long transactionCount;
+
+    // Used by JPQL constructor expressions
+    public CounterpartyPositionDto(String counterparty, Finance.TransactionType transactionType,
+                                   BigDecimal principal, BigDecimal repaid, Long transactionCount) {
+        this.counterparty = counterparty;
+        this.transactionType = transactionType;
+        this.principal = principal;
+        this.repaid = repaid;
+        this.outstanding = principal.subtract(repaid);
+        this.transactionCount = transactionCount;
+    }
+}
@@ -0,0 +1,29 @@
+package com.arthManager.finance.dto;
+
+import com.arthManager.finance.model.Finance;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Just the columns the due-date processor needs, so chunks do not load full entities into the session
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DueFinanceRow {
+    private Long id;
+    private Long userId;
+    private String username;
+    private String email;
+    private String description;
+    private String counterparty;
+    private Finance.TransactionType transactionType;
+    private BigDecimal amount;
+    private BigDecimal amountRepaid;
+    private LocalDate dueDate;
+    private Boolean overdue;
+    private Boolean emailReminder;
+    private LocalDate lastReminderDate;
+}
@@ -0,0 +1,24 @@
+package com.arthManager.finance.dto;
+
+import com.arthManager.finance.model.Finance;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FinanceAggregate {
+    private String key; // category, payment method or "YYYY-MM" depending on the grouping
+    private Finance.TransactionType transactionType;
+    private BigDecimal total;
+    private Long count;
+
+    // Used by the per-month GROUP BY, which groups on YEAR()/MONTH() of the transaction date
+    public FinanceAggregate(Integer year, Integer month, Finance.TransactionType transactionType,
+                            BigDecimal total, Long count) {
+        this(String.format("%04d-%02d", year, month), transactionType, total, count);
+    }
+}
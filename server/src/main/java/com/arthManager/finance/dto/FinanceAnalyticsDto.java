@@ -0,0 +1,19 @@
+package com.arthManager.finance.dto;
+
+import com.arthManager.finance.model.Finance;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class FinanceAnalyticsDto {
+    private LocalDate startDate; // null when the range is open
+    private LocalDate endDate;
+    private Map<Finance.TransactionType, BigDecimal> totalsByType;
+    private List<FinanceAggregate> byCategory;
+    private List<FinanceAggregate> byPaymentMethod;
+    private List<FinanceAggregate> byMonth;
+}
@@ -2,11 +2,13 @@ package com.arthManager.finance.dto;
 
 import com.arthManager.finance.model.Finance;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Data
+@NoArgsConstructor
 public class FinanceDto {
     private Long id;
     private String description;
@@ -17,10 +19,36 @@ public class FinanceDto {
     private String counterparty; // e.g., "John Doe", "Company XYZ"
 //    private LocalDate date; // Format: "YYYY-MM-DD"
     private LocalDate transactionDate; // Date of the transaction
-    private BigDecimal amount; // Monetary value as a string to handle currency formatting
+    private BigDecimal amount; // In the user's base currency
+    private String currency; // Currency the transaction was entered in (null: base currency)
+    private BigDecimal originalAmount; // Amount as entered, in currency
     private Finance.DueStatus dueStatus; // Enum for loan/borrow status e.g ("PAID", "UNPAID", "PARTIALLY_PAID")
     private LocalDate dueDate;
     private String clientDescription;
     private Boolean emailReminder;
+    private BigDecimal amountRepaid; // Repaid so far on a loan/borrow
+    private Boolean overdue; // Unpaid loan/borrow past its due date
 
+    // Projection constructor: read queries select these columns directly instead of loading Finance entities
+    public FinanceDto(Long id, String description, String category, Finance.TransactionType transactionType,
+                      String paymentMethod, String counterparty, LocalDate transactionDate, BigDecimal amount,
+                      String currency, BigDecimal originalAmount, Finance.DueStatus dueStatus, LocalDate dueDate, String clientDescription, Boolean emailReminder,
+                      BigDecimal amountRepaid, Boolean overdue) {
+        this.id = id;
+        this.description = description;
+        this.category = category;
+        this.transactionType = transactionType.name();
+        this.paymentMethod = paymentMethod;
+        this.counterparty = counterparty;
+        this.transactionDate = transactionDate;
+        this.amount = amount;
+        this.currency = currency;
+        this.originalAmount = originalAmount;
+        this.dueStatus = dueStatus;
+        this.dueDate = dueDate;
+        this.clientDescription = clientDescription;
+        this.emailReminder = emailReminder;
+        this.amountRepaid = amountRepaid;
+        this.overdue = Boolean.TRUE.equals(overdue) && dueStatus != Finance.DueStatus.PAID;
+    }
 }
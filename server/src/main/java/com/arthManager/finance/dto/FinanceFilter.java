@@ -0,0 +1,25 @@
+package com.arthManager.finance.dto;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Query parameters of GET /api/finance/transactions, bound straight from the request.
+// Every field is optional; unset fields add no predicate.
+@Data
+public class FinanceFilter {
+    private String type;          // e.g. "income", "EXPENSE" (case-insensitive)
+    private String category;      // single category or comma-separated list, e.g. "Food,Transport"
+    private String paymentMethod;
+    private String dueStatus;     // e.g. "UNPAID" (case-insensitive)
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDate;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endDate;
+}
@@ -0,0 +1,20 @@
+package com.arthManager.finance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FinanceSummaryDto {
+    private BigDecimal balance;       // User.balance: income minus expenses
+    private BigDecimal totalIncome;
+    private BigDecimal totalExpense;
+    private BigDecimal totalLoan;     // lent to others
+    private BigDecimal totalBorrow;   // borrowed from others
+    private BigDecimal netBalance;    // balance + loans given - borrows taken
+    private Long transactionCount;
+}
@@ -0,0 +1,16 @@
+package com.arthManager.finance.dto;
+
+import java.math.BigDecimal;
+
+// Result of the single conditional-aggregation query over a user's finance rows
+public interface FinanceTotals {
+    BigDecimal getIncome();
+
+    BigDecimal getExpense();
+
+    BigDecimal getLoan();
+
+    BigDecimal getBorrow();
+
+    Long getTransactionCount();
+}
@@ -0,0 +1,19 @@
+package com.arthManager.finance.dto;
+
+import com.arthManager.finance.model.Finance;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyRollupDto {
+    private String yearMonth; // Format: "YYYY-MM"
+    private String category;
+    private Finance.TransactionType transactionType;
+    private BigDecimal total;
+    private Long count;
+}
@@ -0,0 +1,26 @@
+package com.arthManager.finance.dto;
+
+import com.arthManager.finance.model.Finance;
+import com.arthManager.finance.model.RecurringFinance;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+public class RecurringFinanceDto {
+    private Long id;
+    private String description;
+    private BigDecimal amount;
+    private String category;
+    private Finance.TransactionType transactionType;
+    private String paymentMethod;
+    private String counterparty;
+    private RecurringFinance.Frequency frequency;
+    private Integer intervalCount;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalDate nextRunDate;
+    private Long generatedCount;
+    private Boolean active;
+}
@@ -0,0 +1,19 @@
+package com.arthManager.finance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepaymentDto {
+    private Long id;
+    private Long financeId;
+    private BigDecimal amount;
+    private LocalDate repaymentDate;
+    private String note;
+}
@@ -0,0 +1,14 @@
+package com.arthManager.finance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One autocomplete candidate and how many of the user's transactions use it
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionDto {
+    private String value;
+    private long count;
+}
@@ -0,0 +1,24 @@
+package com.arthManager.finance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// One bucket of a finance time series; periodStart is the day, the Monday of the week or the 1st of the month
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeSeriesPointDto {
+    private LocalDate periodStart;
+    private BigDecimal income;
+    private BigDecimal expense;
+    private BigDecimal net;
+
+    // Used by the per-day GROUP BY
+    public TimeSeriesPointDto(LocalDate periodStart, BigDecimal income, BigDecimal expense) {
+        this(periodStart, income, expense, income.subtract(expense));
+    }
+}
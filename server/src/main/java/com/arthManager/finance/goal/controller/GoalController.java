@@ -0,0 +1,58 @@
+package com.arthManager.finance.goal.controller;
+
+import com.arthManager.common.dto.ListResponse;
+import com.arthManager.finance.goal.dto.AddGoal;
+import com.arthManager.finance.goal.dto.GoalDto;
+import com.arthManager.finance.goal.service.GoalService;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/finance/goals")
+@AllArgsConstructor
+public class GoalController {
+
+    @Autowired
+    private GoalService goalService;
+
+    // Goals with progress and projected completion: { "content": [ { id, name, target, saved, deadline, ... } ] }
+    @GetMapping
+    public ResponseEntity<ListResponse<GoalDto>> getGoals(
+            @AuthenticationPrincipal(expression = "username") String username) {
+        return ResponseEntity.ok(goalService.getGoals(username));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<GoalDto> getGoal(
+            @PathVariable Long id,
+            @AuthenticationPrincipal(expression = "username") String username) {
+        return ResponseEntity.ok(goalService.getGoal(username, id));
+    }
+
+    @PostMapping
+    public ResponseEntity<GoalDto> createGoal(
+            @Valid @RequestBody AddGoal addGoal,
+            @AuthenticationPrincipal(expression = "username") String username) {
+        return ResponseEntity.ok(goalService.createGoal(username, addGoal));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<GoalDto> updateGoal(
+            @PathVariable Long id,
+            @Valid @RequestBody AddGoal addGoal,
+            @AuthenticationPrincipal(expression = "username") String username) {
+        return ResponseEntity.ok(goalService.updateGoal(username, id, addGoal));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteGoal(
+            @PathVariable Long id,
+            @AuthenticationPrincipal(expression = "username") String username) {
+        goalService.deleteGoal(username, id);
+        return ResponseEntity.ok("Goal deleted successfully");
+    }
+}
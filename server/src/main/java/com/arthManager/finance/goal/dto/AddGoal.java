@@ -0,0 +1,28 @@
+package com.arthManager.finance.goal.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+public class AddGoal {
+    @NotBlank(message = "Name is required")
+    private String name;
+
+    @NotNull(message = "Target is required")
+    @DecimalMin(value = "0.01", message = "Target must be greater than zero")
+    private BigDecimal target;
+
+    private LocalDate deadline;
+
+    // Optional category whose transactions count towards the goal
+    private String linkedCategory;
+
+    // Amount saved so far; when given on update, progress is re-based to it
+    @DecimalMin(value = "0", message = "Saved amount must not be negative")
+    private BigDecimal saved;
+}
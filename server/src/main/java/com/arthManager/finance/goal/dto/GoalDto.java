@@ -0,0 +1,23 @@
+package com.arthManager.finance.goal.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+public class GoalDto {
+    private Long id;
+    private String name;
+    private BigDecimal target;
+    private BigDecimal saved;
+    private LocalDate deadline;
+    private String linkedCategory;
+    private Integer progressPercent;
+    private Boolean achieved;
+    // Average monthly saving over the recent months used for the projection
+    private BigDecimal monthlyRate;
+    // null when achieved or when the recent saving rate is not positive
+    private LocalDate projectedCompletionDate;
+    private Boolean onTrack;
+}
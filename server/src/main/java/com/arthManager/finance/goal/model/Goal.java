@@ -0,0 +1,69 @@
+package com.arthManager.finance.goal.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Savings goal. Progress is initialSaved plus how far the tracked total (net savings, or the linked
+// category's contributions) has moved since baselineAmount was recorded.
+@Entity
+@Table(name = "goal", indexes = {
+        @Index(name = "idx_goal_user", columnList = "user_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Goal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    @Column(name = "target_amount", nullable = false)
+    private BigDecimal targetAmount;
+
+    @Column(name = "deadline")
+    private LocalDate deadline;
+
+    // Optional: only this category counts (EXPENSE puts money into the goal, INCOME takes it out)
+    @Column(name = "linked_category")
+    private String linkedCategory;
+
+    // Amount already saved when the goal was created or last reset
+    @Column(name = "initial_saved", nullable = false)
+    private BigDecimal initialSaved = BigDecimal.ZERO;
+
+    // Tracked total at that moment
+    @Column(name = "baseline_amount", nullable = false)
+    private BigDecimal baselineAmount = BigDecimal.ZERO;
+
+    @Column(name = "baseline_date", nullable = false)
+    private LocalDate baselineDate;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
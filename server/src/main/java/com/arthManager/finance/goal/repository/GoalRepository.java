@@ -0,0 +1,16 @@
+package com.arthManager.finance.goal.repository;
+
+import com.arthManager.finance.goal.model.Goal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface GoalRepository extends JpaRepository<Goal, Long> {
+
+    List<Goal> findByUserIdOrderByDeadlineAscIdAsc(Long userId);
+
+    Optional<Goal> findByIdAndUserId(Long id, Long userId);
+}
@@ -0,0 +1,199 @@
+package com.arthManager.finance.goal.service;
+
+import com.arthManager.common.dto.ListResponse;
+import com.arthManager.finance.dto.MonthlyRollupDto;
+import com.arthManager.finance.goal.dto.AddGoal;
+import com.arthManager.finance.goal.dto.GoalDto;
+import com.arthManager.finance.goal.model.Goal;
+import com.arthManager.finance.goal.repository.GoalRepository;
+import com.arthManager.finance.model.Finance;
+import com.arthManager.finance.model.FinanceCategoryTotal;
+import com.arthManager.finance.repository.FinanceCategoryTotalRepository;
+import com.arthManager.finance.repository.FinanceMonthlyRollupRepository;
+import com.arthManager.user.model.User;
+import com.arthManager.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
+
+// Savings goals. Progress and projections are computed from the maintained finance_category_total and
+// finance_monthly_rollup rows, so loading goals costs the same however many transactions a user has.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GoalService {
+
+    // Complete months before the current one that the saving rate is averaged over
+    static final int PROJECTION_MONTHS = 3;
+
+    private final GoalRepository goalRepository;
+    private final FinanceCategoryTotalRepository categoryTotalRepository;
+    private final FinanceMonthlyRollupRepository rollupRepository;
+    private final UserRepository userRepository;
+
+    private User getUserByUsername(String username) {
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+    }
+
+    @Transactional(readOnly = true)
+    public ListResponse<GoalDto> getGoals(String username) {
+        User user = getUserByUsername(username);
+        List<Goal> goals = goalRepository.findByUserIdOrderByDeadlineAscIdAsc(user.getId());
+        if (goals.isEmpty()) {
+            return new ListResponse<>(List.of());
+        }
+        // Two bounded reads shared by all goals
+        List<FinanceCategoryTotal> totals = categoryTotalRepository.findByUserId(user.getId());
+        List<MonthlyRollupDto> recentMonths = recentMonths(user.getId());
+        return new ListResponse<>(goals.stream().map(goal -> toDto(goal, totals, recentMonths)).toList());
+    }
+
+    @Transactional(readOnly = true)
+    public GoalDto getGoal(String username, Long id) {
+        User user = getUserByUsername(username);
+        Goal goal = findGoal(user, id);
+        return toDto(goal, categoryTotalRepository.findByUserId(user.getId()), recentMonths(user.getId()));
+    }
+
+    @Transactional
+    public GoalDto createGoal(String username, AddGoal addGoal) {
+        User user = getUserByUsername(username);
+        Goal goal = new Goal();
+        goal.setUserId(user.getId());
+        goal.setName(addGoal.getName());
+        goal.setTargetAmount(addGoal.getTarget());
+        goal.setDeadline(addGoal.getDeadline());
+        goal.setLinkedCategory(normalizeCategory(addGoal.getLinkedCategory()));
+
+        List<FinanceCategoryTotal> totals = categoryTotalRepository.findByUserId(user.getId());
+        rebase(goal, addGoal.getSaved() != null ? addGoal.getSaved() : BigDecimal.ZERO, totals);
+        return toDto(goalRepository.save(goal), totals, recentMonths(user.getId()));
+    }
+
+    // Changing the linked category or sending a saved amount re-bases progress at today
+    @Transactional
+    public GoalDto updateGoal(String username, Long id, AddGoal addGoal) {
+        User user = getUserByUsername(username);
+        Goal goal = findGoal(user, id);
+        List<FinanceCategoryTotal> totals = categoryTotalRepository.findByUserId(user.getId());
+
+        String linkedCategory = normalizeCategory(addGoal.getLinkedCategory());
+        if (addGoal.getSaved() != null || !Objects.equals(linkedCategory, goal.getLinkedCategory())) {
+            BigDecimal saved = addGoal.getSaved() != null ? addGoal.getSaved() : saved(goal, totals);
+            goal.setLinkedCategory(linkedCategory);
+            rebase(goal, saved, totals);
+        }
+        goal.setName(addGoal.getName());
+        goal.setTargetAmount(addGoal.getTarget());
+        goal.setDeadline(addGoal.getDeadline());
+        return toDto(goalRepository.save(goal), totals, recentMonths(user.getId()));
+    }
+
+    @Transactional
+    public void deleteGoal(String username, Long id) {
+        User user = getUserByUsername(username);
+        goalRepository.delete(findGoal(user, id));
+    }
+
+    private Goal findGoal(User user, Long id) {
+        return goalRepository.findByIdAndUserId(id, user.getId())
+                .orElseThrow(() -> new RuntimeException("Goal not found or not authorized"));
+    }
+
+    private void rebase(Goal goal, BigDecimal saved, List<FinanceCategoryTotal> totals) {
+        goal.setInitialSaved(saved);
+        goal.setBaselineAmount(tracked(goal.getLinkedCategory(), totals));
+        goal.setBaselineDate(LocalDate.now());
+    }
+
+    private BigDecimal saved(Goal goal, List<FinanceCategoryTotal> totals) {
+        BigDecimal saved = goal.getInitialSaved()
+                .add(tracked(goal.getLinkedCategory(), totals))
+                .subtract(goal.getBaselineAmount());
+        return saved.max(BigDecimal.ZERO);
+    }
+
+    // Net savings (INCOME - EXPENSE), or for a linked category what was put into it (EXPENSE - INCOME)
+    private BigDecimal tracked(String linkedCategory, List<FinanceCategoryTotal> totals) {
+        BigDecimal tracked = BigDecimal.ZERO;
+        for (FinanceCategoryTotal total : totals) {
+            tracked = tracked.add(contribution(linkedCategory, total.getCategory(), total.getTransactionType(), total.getTotalAmount()));
+        }
+        return tracked;
+    }
+
+    private BigDecimal contribution(String linkedCategory, String category, Finance.TransactionType type, BigDecimal amount) {
+        if (linkedCategory == null) {
+            if (type == Finance.TransactionType.INCOME) {
+                return amount;
+            }
+            return type == Finance.TransactionType.EXPENSE ? amount.negate() : BigDecimal.ZERO;
+        }
+        if (!linkedCategory.equals(category)) {
+            return BigDecimal.ZERO;
+        }
+        if (type == Finance.TransactionType.EXPENSE) {
+            return amount;
+        }
+        return type == Finance.TransactionType.INCOME ? amount.negate() : BigDecimal.ZERO;
+    }
+
+    private List<MonthlyRollupDto> recentMonths(Long userId) {
+        YearMonth current = YearMonth.now();
+        return rollupRepository.findRollups(userId,
+                current.minusMonths(PROJECTION_MONTHS).toString(),
+                current.minusMonths(1).toString());
+    }
+
+    private GoalDto toDto(Goal goal, List<FinanceCategoryTotal> totals, List<MonthlyRollupDto> recentMonths) {
+        BigDecimal saved = saved(goal, totals);
+        BigDecimal remaining = goal.getTargetAmount().subtract(saved);
+
+        BigDecimal recent = BigDecimal.ZERO;
+        for (MonthlyRollupDto month : recentMonths) {
+            recent = recent.add(contribution(goal.getLinkedCategory(), month.getCategory(), month.getTransactionType(), month.getTotal()));
+        }
+        BigDecimal monthlyRate = recent.divide(BigDecimal.valueOf(PROJECTION_MONTHS), 2, RoundingMode.HALF_UP);
+
+        GoalDto dto = new GoalDto();
+        dto.setId(goal.getId());
+        dto.setName(goal.getName());
+        dto.setTarget(goal.getTargetAmount());
+        dto.setSaved(saved);
+        dto.setDeadline(goal.getDeadline());
+        dto.setLinkedCategory(goal.getLinkedCategory());
+        dto.setProgressPercent(saved.multiply(BigDecimal.valueOf(100))
+                .divide(goal.getTargetAmount(), 0, RoundingMode.DOWN).min(BigDecimal.valueOf(100)).intValue());
+        dto.setMonthlyRate(monthlyRate);
+        dto.setAchieved(remaining.signum() <= 0);
+        if (remaining.signum() <= 0) {
+            dto.setOnTrack(true);
+        } else if (monthlyRate.signum() > 0) {
+            LocalDate today = LocalDate.now();
+            long averageMonthDays = ChronoUnit.DAYS.between(today.minusMonths(PROJECTION_MONTHS), today) / PROJECTION_MONTHS;
+            long days = remaining.multiply(BigDecimal.valueOf(averageMonthDays))
+                    .divide(monthlyRate, 0, RoundingMode.CEILING).longValue();
+            LocalDate projected = today.plusDays(days);
+            dto.setProjectedCompletionDate(projected);
+            dto.setOnTrack(goal.getDeadline() == null || !projected.isAfter(goal.getDeadline()));
+        } else {
+            dto.setOnTrack(false);
+        }
+        return dto;
+    }
+
+    private String normalizeCategory(String category) {
+        return category == null || category.isBlank() ? null : category.trim();
+    }
+}
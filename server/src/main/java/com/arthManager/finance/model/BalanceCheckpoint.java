@@ -0,0 +1,35 @@
+package com.arthManager.finance.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Running balance at the end of a month: the sum of every INCOME (+) and EXPENSE (-) effect of the user
+// up to and including that month. Created by BalanceCheckpointService for completed months; a write dated
+// in month M shifts the checkpoints of M and later months by its effect.
+@Entity
+@Table(name = "balance_checkpoint",
+        uniqueConstraints = @UniqueConstraint(name = "uk_checkpoint_user_month",
+                columnNames = {"user_id", "checkpoint_month"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Formatted as YYYY-MM
+    @Column(name = "checkpoint_month", nullable = false, length = 7)
+    private String checkpointMonth;
+
+    @Column(name = "balance", nullable = false)
+    private BigDecimal balance = BigDecimal.ZERO;
+}
@@ -0,0 +1,43 @@
+package com.arthManager.finance.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Per-user LOAN/BORROW exposure to one counterparty, kept in step with the finance and
+// finance_repayment tables by CounterpartyPositionService. Outstanding = principal - repaid.
+@Entity
+@Table(name = "counterparty_position",
+        uniqueConstraints = @UniqueConstraint(name = "uk_position_user_counterparty_type",
+                columnNames = {"user_id", "counterparty", "transaction_type"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CounterpartyPosition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "counterparty", nullable = false)
+    private String counterparty;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false)
+    private Finance.TransactionType transactionType;
+
+    @Column(name = "principal", nullable = false)
+    private BigDecimal principal = BigDecimal.ZERO;
+
+    @Column(name = "repaid", nullable = false)
+    private BigDecimal repaid = BigDecimal.ZERO;
+
+    @Column(name = "txn_count", nullable = false)
+    private Long txnCount = 0L;
+}
@@ -0,0 +1,35 @@
+package com.arthManager.finance.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Value of one unit of `currency` in the reference currency (arth.finance.currency.reference) from
+// rate_date until the currency's next rate. Loaded from the local rates file by ExchangeRateLoader.
+@Entity
+@Table(name = "exchange_rate",
+        uniqueConstraints = @UniqueConstraint(name = "uk_exchange_rate_currency_date",
+                columnNames = {"currency", "rate_date"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExchangeRate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // ISO 4217 code, e.g. USD
+    @Column(name = "currency", nullable = false, length = 3)
+    private String currency;
+
+    @Column(name = "rate_date", nullable = false)
+    private LocalDate rateDate;
+
+    @Column(name = "rate", nullable = false, precision = 20, scale = 10)
+    private BigDecimal rate;
+}
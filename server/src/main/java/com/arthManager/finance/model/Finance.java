@@ -3,7 +3,9 @@ package com.arthManager.finance.model;
 import com.arthManager.user.model.User;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 //import javax.persistence.*;
 import jakarta.persistence.*;
@@ -12,7 +14,16 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "finance")
+@Table(name = "finance", indexes = {
+        // Transaction lists and keyset pagination: WHERE user_id = ? ... ORDER BY transaction_date DESC, id DESC
+        @Index(name = "idx_finance_user_date_id", columnList = "user_id, transaction_date, id"),
+        // Type-filtered lists and per-type aggregates
+        @Index(name = "idx_finance_user_type_date", columnList = "user_id, transaction_type, transaction_date"),
+        // Category-filtered lists and analytics
+        @Index(name = "idx_finance_user_category_date", columnList = "user_id, category, transaction_date"),
+        // Due-date processor: range scan of open loans/borrows by due date, chunked on (due_date, id)
+        @Index(name = "idx_finance_due_status_date", columnList = "due_status, due_date, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -28,10 +39,18 @@ public class Finance {
     @Column(name = "description", nullable = false)
     private String description;
 
-    // The monetary amount
+    // The monetary amount, in the user's base currency (see CurrencyService)
     @Column(name = "amount", nullable = false)
     private BigDecimal amount;
 
+    // ISO 4217 code and amount as entered; amount above is this converted at the transaction date's rate.
+    // Both null when the amount was entered in the base currency.
+    @Column(name = "currency", length = 3)
+    private String currency;
+
+    @Column(name = "original_amount")
+    private BigDecimal originalAmount;
+
     // (e.g., Food, Transportation, Utilities)
     @Column(name = "category", nullable = false)
     private String category;
@@ -64,9 +83,17 @@ public class Finance {
     @Column(name = "net_balance")
     private BigDecimal netBalance = BigDecimal.ZERO;
 
+    // Sum of the repayments recorded against a LOAN/BORROW (see FinanceRepayment); outstanding = amount - amountRepaid
+    @Column(name = "amount_repaid", nullable = false)
+    private BigDecimal amountRepaid = BigDecimal.ZERO;
+
     // Relationship: Each Finance record belongs to one User.
-    @ManyToOne
-    @JoinColumn(name = "user_id", nullable = false)
+    // Lazy: reads never need the owner (they filter on user_id); getUser().getId() does not initialize the proxy.
+    // No constraint from Hibernate: partitioned finance cannot have one (see FinanceForeignKeyInitializer)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User user;
 
     // Optional field for loan/borrow transactions: tracks if the transaction is
@@ -87,7 +114,26 @@ public class Finance {
     @Column(name = "email_reminder")
     private Boolean emailReminder;
 
+    // Set by the due-date processor once an unpaid loan/borrow passes its due date
+    @Column(name = "overdue", nullable = false)
+    private Boolean overdue = false;
+
+    // Last day a due/overdue reminder was sent for this record
+    @Column(name = "last_reminder_date")
+    private LocalDate lastReminderDate;
+
+    // Set on summary rows written by the compaction job: how many transactions the row replaces.
+    // Aggregate counts weigh rows by it (null counts as 1), so they stay exact after compaction.
+    @Column(name = "compacted_count")
+    private Integer compactedCount;
+
     // Automatically set timestamps when creating/updating a record
+    // Trimmed on every write path (API, bulk, recurring, chatbot) so " Food" and "Food" are one category
+    // for the rollups, analytics and budgets; Budget.setCategory normalizes the same way
+    public void setCategory(String category) {
+        this.category = category != null ? category.trim() : null;
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
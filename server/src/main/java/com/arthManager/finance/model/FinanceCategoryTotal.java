@@ -0,0 +1,40 @@
+package com.arthManager.finance.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Lifetime per-user totals by category and transaction type, kept in step with the finance table by
+// FinanceRollupService. A user's income/expense totals are the sum of a handful of these rows.
+@Entity
+@Table(name = "finance_category_total",
+        uniqueConstraints = @UniqueConstraint(name = "uk_category_total_user_category_type",
+                columnNames = {"user_id", "category", "transaction_type"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FinanceCategoryTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "category", nullable = false)
+    private String category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false)
+    private Finance.TransactionType transactionType;
+
+    @Column(name = "total_amount", nullable = false)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(name = "txn_count", nullable = false)
+    private Long txnCount = 0L;
+}
@@ -0,0 +1,45 @@
+package com.arthManager.finance.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Per-user monthly totals, kept in step with the finance table by FinanceRollupService.
+// One row per (user, month, category, transaction type).
+@Entity
+@Table(name = "finance_monthly_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "uk_rollup_user_month_category_type",
+                columnNames = {"user_id", "rollup_month", "category", "transaction_type"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FinanceMonthlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Formatted as YYYY-MM so that string order matches calendar order.
+    // (Not called year_month: YEAR_MONTH is a reserved word in MySQL.)
+    @Column(name = "rollup_month", nullable = false, length = 7)
+    private String yearMonth;
+
+    @Column(name = "category", nullable = false)
+    private String category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false)
+    private Finance.TransactionType transactionType;
+
+    @Column(name = "total_amount", nullable = false)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(name = "txn_count", nullable = false)
+    private Long txnCount = 0L;
+}
@@ -0,0 +1,49 @@
+package com.arthManager.finance.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// A (partial) repayment of a LOAN or BORROW finance record
+@Entity
+@Table(name = "finance_repayment", indexes = {
+        @Index(name = "idx_repayment_finance_date", columnList = "finance_id, repayment_date"),
+        @Index(name = "idx_repayment_user", columnList = "user_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FinanceRepayment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "finance_id", nullable = false)
+    private Long financeId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "amount", nullable = false)
+    private BigDecimal amount;
+
+    @Column(name = "repayment_date", nullable = false)
+    private LocalDate repaymentDate;
+
+    @Column(name = "note")
+    private String note;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,125 @@
+package com.arthManager.finance.model;
+
+import com.arthManager.user.model.User;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// A repeating INCOME/EXPENSE (rent, salary, subscriptions). RecurringFinanceService materializes each
+// occurrence into a Finance row once its date has arrived.
+@Entity
+@Table(name = "recurring_finance", indexes = {
+        // Generator: active definitions with next_run_date <= today, chunked on (next_run_date, id)
+        @Index(name = "idx_recurring_active_next_run", columnList = "active, next_run_date, id"),
+        @Index(name = "idx_recurring_user", columnList = "user_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringFinance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private User user;
+
+    @Column(name = "description", nullable = false)
+    private String description;
+
+    @Column(name = "amount", nullable = false)
+    private BigDecimal amount;
+
+    @Column(name = "category", nullable = false)
+    private String category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false)
+    private Finance.TransactionType transactionType;
+
+    @Column(name = "payment_method")
+    private String paymentMethod;
+
+    @Column(name = "counterparty")
+    private String counterparty;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "frequency", nullable = false)
+    private Frequency frequency;
+
+    // Every N days/weeks/months/years
+    @Column(name = "interval_count", nullable = false)
+    private Integer intervalCount = 1;
+
+    // First occurrence; later ones are computed from it so month-end dates do not drift
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    // Optional last day an occurrence may fall on
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    // Date of the next occurrence not yet materialized
+    @Column(name = "next_run_date", nullable = false)
+    private LocalDate nextRunDate;
+
+    // Occurrences materialized so far; the generator advances it with a compare-and-set
+    @Column(name = "generated_count", nullable = false)
+    private Long generatedCount = 0L;
+
+    @Column(name = "active", nullable = false)
+    private Boolean active = true;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public enum Frequency {
+        DAILY,
+        WEEKLY,
+        MONTHLY,
+        YEARLY;
+
+        // Date of the occurrence that lies `steps` periods after start
+        public LocalDate occurrence(LocalDate start, long steps) {
+            switch (this) {
+                case DAILY:
+                    return start.plusDays(steps);
+                case WEEKLY:
+                    return start.plusWeeks(steps);
+                case MONTHLY:
+                    return start.plusMonths(steps);
+                default:
+                    return start.plusYears(steps);
+            }
+        }
+    }
+
+    // Date of the n-th occurrence (0-based)
+    public LocalDate occurrence(long n) {
+        return frequency.occurrence(startDate, n * intervalCount);
+    }
+}
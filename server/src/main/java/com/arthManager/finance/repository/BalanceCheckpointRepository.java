@@ -0,0 +1,39 @@
+package com.arthManager.finance.repository;
+
+import com.arthManager.finance.model.BalanceCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BalanceCheckpointRepository extends JpaRepository<BalanceCheckpoint, Long> {
+
+        Optional<BalanceCheckpoint> findTopByUserIdOrderByCheckpointMonthDesc(Long userId);
+
+        Optional<BalanceCheckpoint> findTopByUserIdOrderByCheckpointMonthAsc(Long userId);
+
+        Optional<BalanceCheckpoint> findTopByUserIdAndCheckpointMonthLessThanEqualOrderByCheckpointMonthDesc(
+                        Long userId, String checkpointMonth);
+
+        List<BalanceCheckpoint> findByUserIdAndCheckpointMonthBetweenOrderByCheckpointMonth(
+                        Long userId, String fromMonth, String toMonth);
+
+        // A write dated in fromMonth moves that month's checkpoint and every later one; earlier ones stay
+        @Modifying
+        @Query("UPDATE BalanceCheckpoint c SET c.balance = c.balance + :delta"
+                        + " WHERE c.userId = :userId AND c.checkpointMonth >= :fromMonth")
+        int shift(
+                        @Param("userId") Long userId,
+                        @Param("fromMonth") String fromMonth,
+                        @Param("delta") BigDecimal delta);
+
+        @Modifying
+        @Query("DELETE FROM BalanceCheckpoint c WHERE c.userId = :userId")
+        void deleteByUserId(@Param("userId") Long userId);
+}
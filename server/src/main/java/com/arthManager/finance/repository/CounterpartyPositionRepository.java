@@ -0,0 +1,58 @@
+package com.arthManager.finance.repository;
+
+import com.arthManager.finance.dto.CounterpartyPositionDto;
+import com.arthManager.finance.model.CounterpartyPosition;
+import com.arthManager.finance.model.Finance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface CounterpartyPositionRepository extends JpaRepository<CounterpartyPosition, Long> {
+
+        // Atomic upsert: concurrent writers for the same counterparty add to the row instead of overwriting it
+        @Modifying
+        @Query(value = "INSERT INTO counterparty_position (user_id, counterparty, transaction_type, principal, repaid, txn_count)"
+                        + " VALUES (:userId, :counterparty, :transactionType, :principal, :repaid, :count)"
+                        + " ON DUPLICATE KEY UPDATE principal = principal + :principal, repaid = repaid + :repaid,"
+                        + " txn_count = txn_count + :count",
+                        nativeQuery = true)
+        void applyDelta(
+                        @Param("userId") Long userId,
+                        @Param("counterparty") String counterparty,
+                        @Param("transactionType") String transactionType,
+                        @Param("principal") BigDecimal principal,
+                        @Param("repaid") BigDecimal repaid,
+                        @Param("count") long count);
+
+        @Modifying
+        @Query(value = "DELETE FROM counterparty_position WHERE user_id = :userId", nativeQuery = true)
+        void deleteByUserId(@Param("userId") Long userId);
+
+        @Modifying
+        @Query(value = "INSERT INTO counterparty_position (user_id, counterparty, transaction_type, principal, repaid, txn_count)"
+                        + " SELECT user_id, COALESCE(counterparty, 'Self'), transaction_type, SUM(amount), SUM(amount_repaid), COUNT(*)"
+                        + " FROM finance WHERE user_id = :userId AND transaction_type IN ('LOAN', 'BORROW')"
+                        + " GROUP BY user_id, COALESCE(counterparty, 'Self'), transaction_type",
+                        nativeQuery = true)
+        void rebuildForUser(@Param("userId") Long userId);
+
+        @Query(value = "SELECT DISTINCT user_id FROM finance WHERE transaction_type IN ('LOAN', 'BORROW')", nativeQuery = true)
+        List<Long> findUserIdsWithLoans();
+
+        // Served from the (user_id, counterparty, transaction_type) unique index; no finance rows are read
+        @Query("SELECT new com.arthManager.finance.dto.CounterpartyPositionDto(p.counterparty, p.transactionType, p.principal, p.repaid, p.txnCount)"
+                        + " FROM CounterpartyPosition p WHERE p.userId = :userId AND p.txnCount > 0"
+                        + " AND (:type IS NULL OR p.transactionType = :type)"
+                        + " AND (:openOnly = false OR p.principal > p.repaid)"
+                        + " ORDER BY (p.principal - p.repaid) DESC, p.counterparty")
+        List<CounterpartyPositionDto> findPositions(
+                        @Param("userId") Long userId,
+                        @Param("type") Finance.TransactionType type,
+                        @Param("openOnly") boolean openOnly);
+}
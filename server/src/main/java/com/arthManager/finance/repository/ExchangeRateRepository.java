@@ -0,0 +1,28 @@
+package com.arthManager.finance.repository;
+
+import com.arthManager.finance.model.ExchangeRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface ExchangeRateRepository extends JpaRepository<ExchangeRate, Long> {
+
+    // The rate in effect on a date: the newest one published on or before it (one dive into uk_exchange_rate_currency_date)
+    Optional<ExchangeRate> findTopByCurrencyAndRateDateLessThanEqualOrderByRateDateDesc(String currency, LocalDate date);
+
+    @Modifying
+    @Query(value = "INSERT INTO exchange_rate (currency, rate_date, rate) VALUES (:currency, :rateDate, :rate)"
+            + " ON DUPLICATE KEY UPDATE rate = :rate",
+            nativeQuery = true)
+    void upsert(
+            @Param("currency") String currency,
+            @Param("rateDate") LocalDate rateDate,
+            @Param("rate") BigDecimal rate);
+}
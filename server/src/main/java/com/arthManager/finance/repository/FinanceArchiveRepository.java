@@ -0,0 +1,212 @@
+package com.arthManager.finance.repository;
+
+import com.arthManager.finance.dto.FinanceAggregate;
+import com.arthManager.finance.dto.FinanceDto;
+import com.arthManager.finance.dto.FinanceFilter;
+import com.arthManager.finance.dto.TimeSeriesPointDto;
+import com.arthManager.finance.dto.TransactionCursor;
+import com.arthManager.finance.model.Finance;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// finance_archive holds INCOME/EXPENSE rows older than the archive horizon, moved out of finance with their
+// ids (see FinanceArchiveService). It has the finance columns, so FinanceFilterSql and the streaming row
+// mapper work on both tables; reads whose date range reaches the archive UNION ALL the two tables.
+@Repository
+@RequiredArgsConstructor
+public class FinanceArchiveRepository {
+
+    public static final String TABLE = "finance_archive";
+
+    private static final String COLUMNS = "id, transaction_date, description, amount, category, transaction_type,"
+            + " payment_method, counterparty, created_at, updated_at, balance, net_balance, amount_repaid, user_id,"
+            + " due_status, due_date, client_description, email_reminder, overdue, last_reminder_date, compacted_count,"
+            + " currency, original_amount";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // CREATE TABLE ... LIKE copies the columns, indexes and partitioning of finance, but no foreign keys.
+    // Hibernate only updates finance, so columns finance gained since are added here (nullable);
+    // the moved columns (COLUMNS) are listed by hand.
+    public void createTableIfMissing() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + TABLE + " LIKE finance");
+        jdbcTemplate.query("SELECT f.column_name, f.column_type FROM information_schema.columns f"
+                        + " WHERE f.table_schema = DATABASE() AND f.table_name = 'finance'"
+                        + " AND NOT EXISTS (SELECT 1 FROM information_schema.columns a WHERE a.table_schema = f.table_schema"
+                        + " AND a.table_name = ? AND a.column_name = f.column_name)"
+                        + " ORDER BY f.ordinal_position",
+                (RowCallbackHandler) rs -> jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD COLUMN "
+                        + rs.getString(1) + " " + rs.getString(2)),
+                TABLE);
+    }
+
+    // Newest archived transaction date of the user, or null; one dive into the (user_id, transaction_date) index
+    public LocalDate findLatestDate(Long userId) {
+        return jdbcTemplate.queryForObject("SELECT MAX(transaction_date) FROM " + TABLE + " WHERE user_id = ?",
+                LocalDate.class, userId);
+    }
+
+    // Moves up to `limit` of the user's rows of one type dated before `cutoff`; runs in the caller's
+    // transaction. The ids are locked first, so the copy and the delete see the same rows.
+    public int moveChunk(Long userId, Finance.TransactionType type, LocalDate cutoff, int limit) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM finance"
+                        + " WHERE user_id = ? AND transaction_type = ? AND transaction_date < ? LIMIT ? FOR UPDATE",
+                Long.class, userId, type.name(), Date.valueOf(cutoff), limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String in = " WHERE id IN (" + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")";
+        jdbcTemplate.update("INSERT INTO " + TABLE + " (" + COLUMNS + ") SELECT " + COLUMNS + " FROM finance" + in,
+                ids.toArray());
+        jdbcTemplate.update("DELETE FROM finance" + in, ids.toArray());
+        return ids.size();
+    }
+
+    // One page of the user's transactions from finance and the archive, in `sort` order (optionally after a
+    // keyset cursor). Each branch is limited to offset + limit rows, so the merge never sees more than that.
+    public List<FinanceDto> findUnion(Long userId, FinanceFilter filter, TransactionCursor after, Sort sort,
+                                      long offset, int limit) {
+        FinanceFilterSql filterSql = FinanceFilterSql.of(userId, filter);
+        String where = filterSql.where();
+        List<Object> branchParams = new ArrayList<>(filterSql.params());
+        if (after != null) {
+            where += " AND (transaction_date < ? OR (transaction_date = ? AND id < ?))";
+            branchParams.add(after.getTransactionDate());
+            branchParams.add(after.getTransactionDate());
+            branchParams.add(after.getId());
+        }
+        String orderBy = FinanceFilterSql.orderBy(sort);
+        String sql = "(" + FinanceStreamingRepository.SELECT_COLUMNS + " FROM finance WHERE " + where + orderBy + " LIMIT ?)"
+                + " UNION ALL (" + FinanceStreamingRepository.SELECT_COLUMNS + " FROM " + TABLE + " WHERE " + where + orderBy + " LIMIT ?)"
+                + orderBy + " LIMIT ? OFFSET ?";
+        List<Object> params = new ArrayList<>(branchParams);
+        params.add(offset + limit);
+        params.addAll(branchParams);
+        params.add(offset + limit);
+        params.add(limit);
+        params.add(offset);
+        return query(sql, params, (rs, rowNum) -> FinanceStreamingRepository.mapRow(rs));
+    }
+
+    public long countUnion(Long userId, FinanceFilter filter) {
+        FinanceFilterSql filterSql = FinanceFilterSql.of(userId, filter);
+        String sql = "SELECT (SELECT COUNT(*) FROM finance WHERE " + filterSql.where() + ")"
+                + " + (SELECT COUNT(*) FROM " + TABLE + " WHERE " + filterSql.where() + ")";
+        List<Object> params = new ArrayList<>(filterSql.params());
+        params.addAll(filterSql.params());
+        return query(sql, params, (rs, rowNum) -> rs.getLong(1)).get(0);
+    }
+
+    public List<FinanceDto> findByIdAndUserId(Long id, Long userId) {
+        return query(FinanceStreamingRepository.SELECT_COLUMNS + " FROM " + TABLE + " WHERE id = ? AND user_id = ?",
+                List.of(id, userId), (rs, rowNum) -> FinanceStreamingRepository.mapRow(rs));
+    }
+
+    // Archived counterparts of the FinanceRepository analytics aggregations
+    public List<FinanceAggregate> sumByCategory(Long userId, LocalDate start, LocalDate end) {
+        return sumBy("category", userId, start, end);
+    }
+
+    public List<FinanceAggregate> sumByPaymentMethod(Long userId, LocalDate start, LocalDate end) {
+        return sumBy("COALESCE(payment_method, 'Unspecified')", userId, start, end);
+    }
+
+    public List<FinanceAggregate> sumByMonth(Long userId, LocalDate start, LocalDate end) {
+        return sumBy("DATE_FORMAT(transaction_date, '%Y-%m')", userId, start, end);
+    }
+
+    // Archived counterparts of FinanceRepository.countByPaymentMethod / countByCounterparty
+    public List<FinanceAggregate> countByPaymentMethod(Long userId) {
+        return countBy("payment_method", userId);
+    }
+
+    public List<FinanceAggregate> countByCounterparty(Long userId) {
+        return countBy("counterparty", userId);
+    }
+
+    public List<TimeSeriesPointDto> sumIncomeExpenseByDate(Long userId, LocalDate from, LocalDate to) {
+        return query("SELECT transaction_date,"
+                        + " SUM(CASE WHEN transaction_type = 'INCOME' THEN amount ELSE 0 END),"
+                        + " SUM(CASE WHEN transaction_type = 'EXPENSE' THEN amount ELSE 0 END)"
+                        + " FROM " + TABLE + " WHERE user_id = ? AND transaction_date >= ? AND transaction_date <= ?"
+                        + " GROUP BY transaction_date ORDER BY transaction_date",
+                List.of(userId, from, to),
+                (rs, rowNum) -> new TimeSeriesPointDto(rs.getObject(1, LocalDate.class), rs.getBigDecimal(2), rs.getBigDecimal(3)));
+    }
+
+    public ArchivedTotals sumTotals(Long userId) {
+        return query("SELECT COALESCE(SUM(CASE WHEN transaction_type = 'INCOME' THEN amount END), 0),"
+                        + " COALESCE(SUM(CASE WHEN transaction_type = 'EXPENSE' THEN amount END), 0),"
+                        + " COALESCE(SUM(COALESCE(compacted_count, 1)), 0)"
+                        + " FROM " + TABLE + " WHERE user_id = ?",
+                List.of(userId),
+                (rs, rowNum) -> new ArchivedTotals(rs.getBigDecimal(1), rs.getBigDecimal(2), rs.getLong(3))).get(0);
+    }
+
+    // Adds the user's archived rows to a freshly rebuilt rollup and category totals (FinanceRollupService.rebuild)
+    public void addToRollups(Long userId) {
+        jdbcTemplate.update("INSERT INTO finance_monthly_rollup (user_id, rollup_month, category, transaction_type, total_amount, txn_count)"
+                + " SELECT * FROM (SELECT user_id, DATE_FORMAT(transaction_date, '%Y-%m') AS rollup_month, category,"
+                + " transaction_type, SUM(amount) AS total, SUM(COALESCE(compacted_count, 1)) AS cnt FROM " + TABLE + " WHERE user_id = ?"
+                + " GROUP BY user_id, DATE_FORMAT(transaction_date, '%Y-%m'), category, transaction_type) AS archived"
+                + " ON DUPLICATE KEY UPDATE total_amount = total_amount + archived.total, txn_count = txn_count + archived.cnt",
+                userId);
+        jdbcTemplate.update("INSERT INTO finance_category_total (user_id, category, transaction_type, total_amount, txn_count)"
+                + " SELECT * FROM (SELECT user_id, category, transaction_type, SUM(amount) AS total, SUM(COALESCE(compacted_count, 1)) AS cnt"
+                + " FROM " + TABLE + " WHERE user_id = ? GROUP BY user_id, category, transaction_type) AS archived"
+                + " ON DUPLICATE KEY UPDATE total_amount = total_amount + archived.total, txn_count = txn_count + archived.cnt",
+                userId);
+    }
+
+    public List<Long> findUserIds() {
+        return jdbcTemplate.queryForList("SELECT DISTINCT user_id FROM " + TABLE, Long.class);
+    }
+
+    private List<FinanceAggregate> sumBy(String keyExpression, Long userId, LocalDate start, LocalDate end) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(keyExpression)
+                .append(" AS aggregate_key, transaction_type, SUM(amount), SUM(COALESCE(compacted_count, 1)) FROM ").append(TABLE)
+                .append(" WHERE user_id = ?");
+        List<Object> params = new ArrayList<>(List.of(userId));
+        if (start != null) {
+            sql.append(" AND transaction_date >= ?");
+            params.add(start);
+        }
+        if (end != null) {
+            sql.append(" AND transaction_date <= ?");
+            params.add(end);
+        }
+        sql.append(" GROUP BY aggregate_key, transaction_type");
+        return query(sql.toString(), params, (rs, rowNum) -> new FinanceAggregate(rs.getString(1),
+                Finance.TransactionType.valueOf(rs.getString(2)), rs.getBigDecimal(3), rs.getLong(4)));
+    }
+
+    private List<FinanceAggregate> countBy(String column, Long userId) {
+        return query("SELECT " + column + ", transaction_type, SUM(amount), SUM(COALESCE(compacted_count, 1)) FROM " + TABLE
+                        + " WHERE user_id = ? AND " + column + " IS NOT NULL GROUP BY " + column + ", transaction_type",
+                List.of(userId), (rs, rowNum) -> new FinanceAggregate(rs.getString(1),
+                        Finance.TransactionType.valueOf(rs.getString(2)), rs.getBigDecimal(3), rs.getLong(4)));
+    }
+
+    private <T> List<T> query(String sql, List<Object> params, RowMapper<T> rowMapper) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            FinanceStreamingRepository.bind(ps, params);
+            return ps;
+        }, rowMapper);
+    }
+
+    public record ArchivedTotals(BigDecimal income, BigDecimal expense, long transactionCount) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.arthManager.finance.repository;
+
+import com.arthManager.finance.model.Finance;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+// JDBC batch inserts for finance rows. Hibernate cannot batch inserts for IDENTITY ids, so bulk paths
+// go through here; with rewriteBatchedStatements=true Connector/J sends each batch as one multi-row INSERT.
+@Repository
+@RequiredArgsConstructor
+public class FinanceBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = "INSERT INTO finance (transaction_date, description, amount, category,"
+            + " transaction_type, payment_method, counterparty, created_at, balance, net_balance, user_id,"
+            + " due_status, due_date, client_description, email_reminder, amount_repaid, overdue, currency, original_amount)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Runs in the caller's transaction; records must have their user set
+    public void insertAll(List<Finance> records) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, records, BATCH_SIZE, (ps, finance) -> {
+            ps.setDate(1, Date.valueOf(finance.getTransactionDate()));
+            ps.setString(2, finance.getDescription());
+            ps.setBigDecimal(3, finance.getAmount());
+            ps.setString(4, finance.getCategory());
+            ps.setString(5, finance.getTransactionType().name());
+            ps.setString(6, finance.getPaymentMethod());
+            ps.setString(7, finance.getCounterparty());
+            ps.setTimestamp(8, Timestamp.valueOf(finance.getCreatedAt()));
+            ps.setBigDecimal(9, finance.getBalance());
+            ps.setBigDecimal(10, finance.getNetBalance());
+            ps.setLong(11, finance.getUser().getId());
+            ps.setString(12, finance.getDueStatus() != null ? finance.getDueStatus().name() : null);
+            if (finance.getDueDate() != null) {
+                ps.setDate(13, Date.valueOf(finance.getDueDate()));
+            } else {
+                ps.setNull(13, Types.DATE);
+            }
+            ps.setString(14, finance.getClientDescription());
+            if (finance.getEmailReminder() != null) {
+                ps.setBoolean(15, finance.getEmailReminder());
+            } else {
+                ps.setNull(15, Types.BOOLEAN);
+            }
+            ps.setBigDecimal(16, finance.getAmountRepaid());
+            ps.setBoolean(17, Boolean.TRUE.equals(finance.getOverdue()));
+            ps.setString(18, finance.getCurrency());
+            ps.setBigDecimal(19, finance.getOriginalAmount());
+        });
+    }
+}
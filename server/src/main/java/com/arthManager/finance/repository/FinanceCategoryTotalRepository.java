@@ -0,0 +1,43 @@
+package com.arthManager.finance.repository;
+
+import com.arthManager.finance.model.FinanceCategoryTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface FinanceCategoryTotalRepository extends JpaRepository<FinanceCategoryTotal, Long> {
+
+        // Atomic upsert: concurrent writers for the same category add to the row instead of overwriting it
+        @Modifying
+        @Query(value = "INSERT INTO finance_category_total (user_id, category, transaction_type, total_amount, txn_count)"
+                        + " VALUES (:userId, :category, :transactionType, :amount, :count)"
+                        + " ON DUPLICATE KEY UPDATE total_amount = total_amount + :amount, txn_count = txn_count + :count",
+                        nativeQuery = true)
+        void applyDelta(
+                        @Param("userId") Long userId,
+                        @Param("category") String category,
+                        @Param("transactionType") String transactionType,
+                        @Param("amount") BigDecimal amount,
+                        @Param("count") long count);
+
+        @Modifying
+        @Query(value = "DELETE FROM finance_category_total WHERE user_id = :userId", nativeQuery = true)
+        void deleteByUserId(@Param("userId") Long userId);
+
+        @Modifying
+        @Query(value = "INSERT INTO finance_category_total (user_id, category, transaction_type, total_amount, txn_count)"
+                        + " SELECT user_id, category, transaction_type, SUM(amount), SUM(COALESCE(compacted_count, 1))"
+                        + " FROM finance WHERE user_id = :userId"
+                        + " GROUP BY user_id, category, transaction_type",
+                        nativeQuery = true)
+        void rebuildForUser(@Param("userId") Long userId);
+
+        // Bounded by the user's number of categories, not by their number of transactions
+        List<FinanceCategoryTotal> findByUserId(Long userId);
+}
@@ -0,0 +1,109 @@
+package com.arthManager.finance.repository;
+
+import com.arthManager.finance.dto.FinanceDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+// Statements of FinanceCompactionService. They run against finance or finance_archive (same columns) and
+// cover a user's INCOME/EXPENSE rows in a date range, a range of idx_finance_user_type_date per type.
+@Repository
+@RequiredArgsConstructor
+public class FinanceCompactionRepository {
+
+    private static final String ELIGIBLE = "user_id = ? AND transaction_type IN ('INCOME', 'EXPENSE')"
+            + " AND transaction_date >= ? AND transaction_date <= ?";
+
+    public static final String SUMMARY_PREFIX = "Compacted: ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LocalDate findFirstDate(String table, Long userId, LocalDate before) {
+        return jdbcTemplate.queryForObject("SELECT MIN(transaction_date) FROM " + table
+                        + " WHERE user_id = ? AND transaction_type IN ('INCOME', 'EXPENSE') AND transaction_date < ?",
+                LocalDate.class, userId, Date.valueOf(before));
+    }
+
+    // True while some (category, type, payment method) group of the range has more than one row, i.e. the
+    // range was never compacted or gained rows since
+    public boolean hasLooseRows(String table, Long userId, LocalDate from, LocalDate to) {
+        return !jdbcTemplate.queryForList("SELECT 1 FROM " + table + " WHERE " + ELIGIBLE
+                        + " GROUP BY category, transaction_type, payment_method HAVING COUNT(*) > 1 LIMIT 1",
+                Integer.class, userId, Date.valueOf(from), Date.valueOf(to)).isEmpty();
+    }
+
+    // The rows of the range, locked until the transaction ends (the gap locks also hold back inserts)
+    public List<CompactionRow> lockRows(String table, Long userId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(FinanceStreamingRepository.SELECT_COLUMNS + ", compacted_count FROM " + table
+                        + " WHERE " + ELIGIBLE + " ORDER BY transaction_date, id FOR UPDATE",
+                (rs, rowNum) -> {
+                    Integer compactedCount = rs.getObject("compacted_count", Integer.class);
+                    return new CompactionRow(FinanceStreamingRepository.mapRow(rs), compactedCount != null ? compactedCount : 1);
+                },
+                userId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    public void deleteByIds(String table, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM " + table + " WHERE id IN ("
+                + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")", ids.toArray());
+    }
+
+    // Summary rows always go to finance, so their ids come from its AUTO_INCREMENT
+    public void insertSummaries(Long userId, LocalDate transactionDate, Collection<Summary> summaries) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate("INSERT INTO finance (user_id, transaction_date, description, amount, category,"
+                        + " transaction_type, payment_method, compacted_count, created_at, amount_repaid, overdue)"
+                        + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, FALSE)",
+                summaries.stream().map(summary -> new Object[]{
+                        userId,
+                        Date.valueOf(transactionDate),
+                        SUMMARY_PREFIX + summary.count() + " transactions",
+                        summary.amount(),
+                        summary.category(),
+                        summary.transactionType(),
+                        summary.paymentMethod(),
+                        summary.count(),
+                        now}).toList());
+    }
+
+    // Summary rows written with compacted_count = 0 (lockRows once read every ordinary row's weight as 0)
+    public List<Long> findZeroCountUserIds(String table) {
+        return jdbcTemplate.queryForList("SELECT DISTINCT user_id FROM " + table + " WHERE compacted_count = 0", Long.class);
+    }
+
+    public List<ZeroCountSummary> findZeroCountSummaries(String table, Long userId) {
+        return jdbcTemplate.query("SELECT id, transaction_date, category, transaction_type, payment_method FROM " + table
+                        + " WHERE user_id = ? AND compacted_count = 0",
+                (rs, rowNum) -> new ZeroCountSummary(rs.getLong(1), rs.getObject(2, LocalDate.class), rs.getString(3),
+                        rs.getString(4), rs.getString(5)),
+                userId);
+    }
+
+    public void updateCount(String table, Long id, int count) {
+        jdbcTemplate.update("UPDATE " + table + " SET compacted_count = ?, description = ? WHERE id = ?",
+                count, SUMMARY_PREFIX + count + " transactions", id);
+    }
+
+    public record ZeroCountSummary(Long id, LocalDate transactionDate, String category, String transactionType,
+                                   String paymentMethod) {
+    }
+
+    // weight is the number of transactions the row stands for (compacted_count, 1 for ordinary rows)
+    public record CompactionRow(FinanceDto transaction, int weight) {
+    }
+
+    public record Summary(String category, String transactionType, String paymentMethod, BigDecimal amount, int count) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.arthManager.finance.repository;
+
+import com.arthManager.finance.dto.FinanceFilter;
+import com.arthManager.finance.model.Finance;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+// Plain-SQL counterpart of FinanceSpecifications for the JdbcTemplate code paths.
+// Produces a parameterised WHERE clause over the finance columns; values never end up in the SQL text.
+public final class FinanceFilterSql {
+
+    // Sortable FinanceDto properties and their columns (FinanceService validates the properties)
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "transactionDate", "transaction_date",
+            "amount", "amount",
+            "category", "category",
+            "description", "description",
+            "paymentMethod", "payment_method",
+            "counterparty", "counterparty",
+            "dueDate", "due_date",
+            "id", "id");
+
+    private final String where;
+    private final List<Object> params;
+
+    private FinanceFilterSql(String where, List<Object> params) {
+        this.where = where;
+        this.params = params;
+    }
+
+    public static FinanceFilterSql of(Long userId, FinanceFilter filter) {
+        StringBuilder where = new StringBuilder("user_id = ?");
+        List<Object> params = new ArrayList<>();
+        params.add(userId);
+        if (filter == null) {
+            return new FinanceFilterSql(where.toString(), params);
+        }
+        Finance.TransactionType transactionType = FinanceSpecifications.parseTransactionType(filter.getType());
+        if (transactionType != null) {
+            where.append(" AND transaction_type = ?");
+            params.add(transactionType.name());
+        }
+        List<String> categories = FinanceSpecifications.parseCategories(filter.getCategory());
+        if (!categories.isEmpty()) {
+            where.append(" AND category IN (")
+                    .append(String.join(", ", Collections.nCopies(categories.size(), "?")))
+                    .append(")");
+            params.addAll(categories);
+        }
+        if (filter.getPaymentMethod() != null && !filter.getPaymentMethod().isBlank()) {
+            where.append(" AND payment_method = ?");
+            params.add(filter.getPaymentMethod().trim());
+        }
+        Finance.DueStatus dueStatus = FinanceSpecifications.parseDueStatus(filter.getDueStatus());
+        if (dueStatus != null) {
+            where.append(" AND due_status = ?");
+            params.add(dueStatus.name());
+        }
+        if (filter.getMinAmount() != null) {
+            where.append(" AND amount >= ?");
+            params.add(filter.getMinAmount());
+        }
+        if (filter.getMaxAmount() != null) {
+            where.append(" AND amount <= ?");
+            params.add(filter.getMaxAmount());
+        }
+        if (filter.getStartDate() != null) {
+            where.append(" AND transaction_date >= ?");
+            params.add(filter.getStartDate());
+        }
+        if (filter.getEndDate() != null) {
+            where.append(" AND transaction_date <= ?");
+            params.add(filter.getEndDate());
+        }
+        return new FinanceFilterSql(where.toString(), params);
+    }
+
+    // " ORDER BY ..." for the given sort; the column names are unqualified so it also applies to a UNION
+    public static String orderBy(Sort sort) {
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException("Cannot sort transactions by: " + order.getProperty());
+            }
+            orders.add(column + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        return orders.isEmpty() ? "" : " ORDER BY " + String.join(", ", orders);
+    }
+
+    public String where() {
+        return where;
+    }
+
+    public List<Object> params() {
+        return params;
+    }
+}
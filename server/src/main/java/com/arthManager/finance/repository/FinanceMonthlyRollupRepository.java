@@ -0,0 +1,90 @@
+package com.arthManager.finance.repository;
+
+import com.arthManager.finance.dto.FinanceAggregate;
+import com.arthManager.finance.dto.MonthlyRollupDto;
+import com.arthManager.finance.model.Finance;
+import com.arthManager.finance.model.FinanceMonthlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface FinanceMonthlyRollupRepository extends JpaRepository<FinanceMonthlyRollup, Long> {
+
+        // Atomic upsert: concurrent writers for the same bucket add to the row instead of overwriting it
+        @Modifying
+        @Query(value = "INSERT INTO finance_monthly_rollup (user_id, rollup_month, category, transaction_type, total_amount, txn_count)"
+                        + " VALUES (:userId, :yearMonth, :category, :transactionType, :amount, :count)"
+                        + " ON DUPLICATE KEY UPDATE total_amount = total_amount + :amount, txn_count = txn_count + :count",
+                        nativeQuery = true)
+        void applyDelta(
+                        @Param("userId") Long userId,
+                        @Param("yearMonth") String yearMonth,
+                        @Param("category") String category,
+                        @Param("transactionType") String transactionType,
+                        @Param("amount") BigDecimal amount,
+                        @Param("count") long count);
+
+        @Query("SELECT MIN(r.yearMonth) FROM FinanceMonthlyRollup r WHERE r.userId = :userId AND r.txnCount > 0")
+        String findFirstMonth(@Param("userId") Long userId);
+
+        // Single-row lookup on the unique (user, month, category, type) key
+        @Query("SELECT COALESCE(SUM(r.totalAmount), 0) FROM FinanceMonthlyRollup r WHERE r.userId = :userId"
+                        + " AND r.yearMonth = :yearMonth AND r.category = :category AND r.transactionType = :transactionType")
+        BigDecimal findTotal(
+                        @Param("userId") Long userId,
+                        @Param("yearMonth") String yearMonth,
+                        @Param("category") String category,
+                        @Param("transactionType") Finance.TransactionType transactionType);
+
+        @Modifying
+        @Query(value = "DELETE FROM finance_monthly_rollup WHERE user_id = :userId", nativeQuery = true)
+        void deleteByUserId(@Param("userId") Long userId);
+
+        @Modifying
+        @Query(value = "INSERT INTO finance_monthly_rollup (user_id, rollup_month, category, transaction_type, total_amount, txn_count)"
+                        + " SELECT user_id, DATE_FORMAT(transaction_date, '%Y-%m'), category, transaction_type, SUM(amount), SUM(COALESCE(compacted_count, 1))"
+                        + " FROM finance WHERE user_id = :userId"
+                        + " GROUP BY user_id, DATE_FORMAT(transaction_date, '%Y-%m'), category, transaction_type",
+                        nativeQuery = true)
+        void rebuildForUser(@Param("userId") Long userId);
+
+        @Query(value = "SELECT DISTINCT user_id FROM finance", nativeQuery = true)
+        List<Long> findUserIdsWithFinance();
+
+        @Query("SELECT new com.arthManager.finance.dto.MonthlyRollupDto(r.yearMonth, r.category, r.transactionType, r.totalAmount, r.txnCount)"
+                        + " FROM FinanceMonthlyRollup r WHERE r.userId = :userId AND r.txnCount > 0"
+                        + " AND (:from IS NULL OR r.yearMonth >= :from)"
+                        + " AND (:to IS NULL OR r.yearMonth <= :to)"
+                        + " ORDER BY r.yearMonth, r.category, r.transactionType")
+        List<MonthlyRollupDto> findRollups(
+                        @Param("userId") Long userId,
+                        @Param("from") String from,
+                        @Param("to") String to);
+
+        @Query("SELECT new com.arthManager.finance.dto.FinanceAggregate(r.yearMonth, r.transactionType, SUM(r.totalAmount), SUM(r.txnCount))"
+                        + " FROM FinanceMonthlyRollup r WHERE r.userId = :userId AND r.txnCount > 0"
+                        + " AND (:from IS NULL OR r.yearMonth >= :from)"
+                        + " AND (:to IS NULL OR r.yearMonth <= :to)"
+                        + " GROUP BY r.yearMonth, r.transactionType"
+                        + " ORDER BY r.yearMonth")
+        List<FinanceAggregate> sumByMonth(
+                        @Param("userId") Long userId,
+                        @Param("from") String from,
+                        @Param("to") String to);
+
+        @Query("SELECT new com.arthManager.finance.dto.FinanceAggregate(r.category, r.transactionType, SUM(r.totalAmount), SUM(r.txnCount))"
+                        + " FROM FinanceMonthlyRollup r WHERE r.userId = :userId AND r.txnCount > 0"
+                        + " AND (:from IS NULL OR r.yearMonth >= :from)"
+                        + " AND (:to IS NULL OR r.yearMonth <= :to)"
+                        + " GROUP BY r.category, r.transactionType")
+        List<FinanceAggregate> sumByCategory(
+                        @Param("userId") Long userId,
+                        @Param("from") String from,
+                        @Param("to") String to);
+}
@@ -0,0 +1,23 @@
+package com.arthManager.finance.repository;
+
+import com.arthManager.finance.model.FinanceRepayment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FinanceRepaymentRepository extends JpaRepository<FinanceRepayment, Long> {
+
+    List<FinanceRepayment> findByFinanceIdAndUserIdOrderByRepaymentDateAscIdAsc(Long financeId, Long userId);
+
+    Optional<FinanceRepayment> findByIdAndUserId(Long id, Long userId);
+
+    @Modifying
+    @Query("DELETE FROM FinanceRepayment r WHERE r.financeId = :financeId")
+    void deleteByFinanceId(@Param("financeId") Long financeId);
+}
@@ -1,36 +1,169 @@
 package com.arthManager.finance.repository;
 
+import com.arthManager.finance.dto.BalancePointDto;
+import com.arthManager.finance.dto.DueFinanceRow;
+import com.arthManager.finance.dto.FinanceDto;
+import com.arthManager.finance.dto.FinanceAggregate;
+import com.arthManager.finance.dto.FinanceTotals;
+import com.arthManager.finance.dto.TimeSeriesPointDto;
 import com.arthManager.user.model.User;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import com.arthManager.finance.model.Finance;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface FinanceRepository extends JpaRepository<Finance, Long> {
-        @Query("SELECT f FROM Finance f WHERE f.user = :user"
-                        + " AND (:transactionType IS NULL OR f.transactionType = :transactionType)"
-                        + " AND (:category IS NULL OR f.category = :category)"
+public interface FinanceRepository extends JpaRepository<Finance, Long>, JpaSpecificationExecutor<Finance>,
+                FinanceRepositoryCustom {
+        // Transaction lists are queried through findDtoPage / findDtoSlice with FinanceSpecifications
+
+        Optional<Finance> findByIdAndUser(Long id, User user);
+
+        boolean existsByUser(User user);
+
+        @Query("SELECT new com.arthManager.finance.dto.FinanceDto(f.id, f.description, f.category, f.transactionType,"
+                        + " f.paymentMethod, f.counterparty, f.transactionDate, f.amount, f.currency, f.originalAmount,"
+                        + " f.dueStatus, f.dueDate,"
+                        + " f.clientDescription, f.emailReminder, f.amountRepaid, f.overdue)"
+                        + " FROM Finance f WHERE f.id = :id AND f.user.id = :userId")
+        Optional<FinanceDto> findDtoByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+        // Atomically adds delta to amountRepaid and derives the due status, refusing to leave the repaid
+        // amount below zero or above the principal (returns 0 rows in that case). due_status is assigned
+        // first because MySQL evaluates single-table SET clauses left to right against updated values.
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("UPDATE Finance f SET"
+                        + " f.dueStatus = CASE WHEN f.amountRepaid + :delta >= f.amount"
+                        + " THEN com.arthManager.finance.model.Finance.DueStatus.PAID"
+                        + " WHEN f.amountRepaid + :delta > 0 THEN com.arthManager.finance.model.Finance.DueStatus.PARTIALLY_PAID"
+                        + " ELSE com.arthManager.finance.model.Finance.DueStatus.UNPAID END,"
+                        + " f.amountRepaid = f.amountRepaid + :delta"
+                        + " WHERE f.id = :id AND f.amountRepaid + :delta >= 0 AND f.amountRepaid + :delta <= f.amount")
+        int addToAmountRepaid(@Param("id") Long id, @Param("delta") BigDecimal delta);
+
+        // One chunk of open LOAN/BORROW rows of the given status due in [from, until], continuing after
+        // (afterDate, afterId). Ordered like idx_finance_due_status_date, so each chunk is an index range scan.
+        @Query("SELECT new com.arthManager.finance.dto.DueFinanceRow(f.id, u.id, u.username, u.email, f.description,"
+                        + " f.counterparty, f.transactionType, f.amount, f.amountRepaid, f.dueDate, f.overdue,"
+                        + " f.emailReminder, f.lastReminderDate)"
+                        + " FROM Finance f JOIN f.user u"
+                        + " WHERE f.dueStatus = :status AND f.dueDate >= :from AND f.dueDate <= :until"
+                        + " AND (f.dueDate > :afterDate OR (f.dueDate = :afterDate AND f.id > :afterId))"
+                        + " AND f.transactionType IN :types"
+                        + " ORDER BY f.dueDate, f.id")
+        List<DueFinanceRow> findDueChunk(
+                        @Param("status") Finance.DueStatus status,
+                        @Param("types") Collection<Finance.TransactionType> types,
+                        @Param("from") LocalDate from,
+                        @Param("until") LocalDate until,
+                        @Param("afterDate") LocalDate afterDate,
+                        @Param("afterId") Long afterId,
+                        Limit limit);
+
+        // Net balance effect (INCOME - EXPENSE) per day in [from, to]; a range of idx_finance_user_date_id
+        @Query("SELECT new com.arthManager.finance.dto.BalancePointDto(f.transactionDate,"
+                        + " SUM(CASE WHEN f.transactionType = com.arthManager.finance.model.Finance.TransactionType.INCOME THEN f.amount"
+                        + " WHEN f.transactionType = com.arthManager.finance.model.Finance.TransactionType.EXPENSE THEN -f.amount"
+                        + " ELSE 0 END))"
+                        + " FROM Finance f WHERE f.user.id = :userId AND f.transactionDate >= :from AND f.transactionDate <= :to"
+                        + " GROUP BY f.transactionDate ORDER BY f.transactionDate")
+        List<BalancePointDto> sumEffectByDate(
+                        @Param("userId") Long userId,
+                        @Param("from") LocalDate from,
+                        @Param("to") LocalDate to);
+
+        // Income and expense per day in [from, to]; weeks and months are folded from these rows
+        @Query("SELECT new com.arthManager.finance.dto.TimeSeriesPointDto(f.transactionDate,"
+                        + " SUM(CASE WHEN f.transactionType = com.arthManager.finance.model.Finance.TransactionType.INCOME THEN f.amount ELSE 0 END),"
+                        + " SUM(CASE WHEN f.transactionType = com.arthManager.finance.model.Finance.TransactionType.EXPENSE THEN f.amount ELSE 0 END))"
+                        + " FROM Finance f WHERE f.user.id = :userId AND f.transactionDate >= :from AND f.transactionDate <= :to"
+                        + " AND f.transactionType IN (com.arthManager.finance.model.Finance.TransactionType.INCOME,"
+                        + " com.arthManager.finance.model.Finance.TransactionType.EXPENSE)"
+                        + " GROUP BY f.transactionDate ORDER BY f.transactionDate")
+        List<TimeSeriesPointDto> sumIncomeExpenseByDate(
+                        @Param("userId") Long userId,
+                        @Param("from") LocalDate from,
+                        @Param("to") LocalDate to);
+
+        @Modifying
+        @Query("UPDATE Finance f SET f.overdue = true WHERE f.id IN :ids AND f.overdue = false")
+        int markOverdue(@Param("ids") Collection<Long> ids);
+
+        // Claims today's reminder for a record; 0 when another run already sent one today
+        @Modifying
+        @Query("UPDATE Finance f SET f.lastReminderDate = :today WHERE f.id = :id"
+                        + " AND (f.lastReminderDate IS NULL OR f.lastReminderDate < :today)")
+        int claimReminder(@Param("id") Long id, @Param("today") LocalDate today);
+
+        // Gives back today's claim when the reminder could not be queued, so the next run retries it.
+        // Called after the claiming transaction committed, hence its own transaction.
+        @Modifying
+        @Transactional(propagation = Propagation.REQUIRES_NEW)
+        @Query("UPDATE Finance f SET f.lastReminderDate = :previous WHERE f.id = :id AND f.lastReminderDate = :today")
+        int releaseReminder(@Param("id") Long id, @Param("today") LocalDate today, @Param("previous") LocalDate previous);
+
+        // All per-type totals in one pass over the user's rows (conditional aggregation)
+        @Query(value = "SELECT COALESCE(SUM(CASE WHEN transaction_type = 'INCOME' THEN amount END), 0) AS income,"
+                        + " COALESCE(SUM(CASE WHEN transaction_type = 'EXPENSE' THEN amount END), 0) AS expense,"
+                        + " COALESCE(SUM(CASE WHEN transaction_type = 'LOAN' THEN amount END), 0) AS loan,"
+                        + " COALESCE(SUM(CASE WHEN transaction_type = 'BORROW' THEN amount END), 0) AS borrow,"
+                        + " SUM(COALESCE(compacted_count, 1)) AS transactionCount"
+                        + " FROM finance WHERE user_id = :userId",
+                        nativeQuery = true)
+        FinanceTotals sumTotalsByUser(@Param("userId") Long userId);
+
+        // Analytics aggregations: the database groups the rows, only the totals leave MySQL
+        @Query("SELECT new com.arthManager.finance.dto.FinanceAggregate(f.category, f.transactionType, SUM(f.amount), SUM(COALESCE(f.compactedCount, 1)))"
+                        + " FROM Finance f WHERE f.user = :user"
                         + " AND (:start IS NULL OR f.transactionDate >= :start)"
                         + " AND (:end IS NULL OR f.transactionDate <= :end)"
-                        + " ORDER BY f.transactionDate DESC")
-        Page<Finance> findByUserAndFilters(
+                        + " GROUP BY f.category, f.transactionType")
+        List<FinanceAggregate> sumByCategory(
                         @Param("user") User user,
-                        @Param("transactionType") Finance.TransactionType transactionType,
-                        @Param("category") String category,
                         @Param("start") LocalDate start,
-                        @Param("end") LocalDate end,
-                        Pageable pageable);
+                        @Param("end") LocalDate end);
 
-        Optional<Finance> findByIdAndUser(Long id, User user);
+        @Query("SELECT new com.arthManager.finance.dto.FinanceAggregate(COALESCE(f.paymentMethod, 'Unspecified'), f.transactionType, SUM(f.amount), SUM(COALESCE(f.compactedCount, 1)))"
+                        + " FROM Finance f WHERE f.user = :user"
+                        + " AND (:start IS NULL OR f.transactionDate >= :start)"
+                        + " AND (:end IS NULL OR f.transactionDate <= :end)"
+                        + " GROUP BY COALESCE(f.paymentMethod, 'Unspecified'), f.transactionType")
+        List<FinanceAggregate> sumByPaymentMethod(
+                        @Param("user") User user,
+                        @Param("start") LocalDate start,
+                        @Param("end") LocalDate end);
 
-        @Query("SELECT COALESCE(SUM(f.amount), 0) FROM Finance f WHERE f.user = :user AND f.transactionType = :type")
-        BigDecimal sumAmountByUserAndType(@Param("user") User user, @Param("type") Finance.TransactionType type);
+        // Distinct non-null values per type with their use counts; seeds FinanceSuggestionIndex
+        @Query("SELECT new com.arthManager.finance.dto.FinanceAggregate(f.paymentMethod, f.transactionType, SUM(f.amount), SUM(COALESCE(f.compactedCount, 1)))"
+                        + " FROM Finance f WHERE f.user.id = :userId AND f.paymentMethod IS NOT NULL"
+                        + " GROUP BY f.paymentMethod, f.transactionType")
+        List<FinanceAggregate> countByPaymentMethod(@Param("userId") Long userId);
+
+        @Query("SELECT new com.arthManager.finance.dto.FinanceAggregate(f.counterparty, f.transactionType, SUM(f.amount), COUNT(f))"
+                        + " FROM Finance f WHERE f.user.id = :userId AND f.counterparty IS NOT NULL"
+                        + " GROUP BY f.counterparty, f.transactionType")
+        List<FinanceAggregate> countByCounterparty(@Param("userId") Long userId);
+
+        @Query("SELECT new com.arthManager.finance.dto.FinanceAggregate(YEAR(f.transactionDate), MONTH(f.transactionDate), f.transactionType, SUM(f.amount), SUM(COALESCE(f.compactedCount, 1)))"
+                        + " FROM Finance f WHERE f.user = :user"
+                        + " AND (:start IS NULL OR f.transactionDate >= :start)"
+                        + " AND (:end IS NULL OR f.transactionDate <= :end)"
+                        + " GROUP BY YEAR(f.transactionDate), MONTH(f.transactionDate), f.transactionType"
+                        + " ORDER BY YEAR(f.transactionDate), MONTH(f.transactionDate)")
+        List<FinanceAggregate> sumByMonth(
+                        @Param("user") User user,
+                        @Param("start") LocalDate start,
+                        @Param("end") LocalDate end);
 }
@@ -0,0 +1,16 @@
+package com.arthManager.finance.repository;
+
+import com.arthManager.finance.dto.FinanceDto;
+import com.arthManager.finance.model.Finance;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+// Specification queries that select FinanceDto columns directly: no entity hydration, no User join
+public interface FinanceRepositoryCustom {
+    Page<FinanceDto> findDtoPage(Specification<Finance> spec, Pageable pageable);
+
+    // Returns a Slice: fetches size + 1 rows instead of running COUNT(*)
+    Slice<FinanceDto> findDtoSlice(Specification<Finance> spec, Pageable pageable);
+}
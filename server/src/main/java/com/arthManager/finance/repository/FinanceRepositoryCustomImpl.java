@@ -0,0 +1,93 @@
+package com.arthManager.finance.repository;
+
+import com.arthManager.finance.dto.FinanceDto;
+import com.arthManager.finance.model.Finance;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+public class FinanceRepositoryCustomImpl implements FinanceRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<FinanceDto> findDtoPage(Specification<Finance> spec, Pageable pageable) {
+        TypedQuery<FinanceDto> query = dtoQuery(spec, pageable);
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(query.getResultList());
+        }
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize());
+        // The count only runs when the page alone cannot tell the total
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(spec));
+    }
+
+    @Override
+    public Slice<FinanceDto> findDtoSlice(Specification<Finance> spec, Pageable pageable) {
+        TypedQuery<FinanceDto> query = dtoQuery(spec, pageable);
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(query.getResultList());
+        }
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize() + 1);
+        List<FinanceDto> rows = query.getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    private TypedQuery<FinanceDto> dtoQuery(Specification<Finance> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<FinanceDto> query = cb.createQuery(FinanceDto.class);
+        Root<Finance> root = query.from(Finance.class);
+        query.select(cb.construct(FinanceDto.class,
+                root.get("id"),
+                root.get("description"),
+                root.get("category"),
+                root.get("transactionType"),
+                root.get("paymentMethod"),
+                root.get("counterparty"),
+                root.get("transactionDate"),
+                root.get("amount"),
+                root.get("currency"),
+                root.get("originalAmount"),
+                root.get("dueStatus"),
+                root.get("dueDate"),
+                root.get("clientDescription"),
+                root.get("emailReminder"),
+                root.get("amountRepaid"),
+                root.get("overdue")));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Finance> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Finance> root = query.from(Finance.class);
+        query.select(cb.count(root));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,106 @@
+package com.arthManager.finance.repository;
+
+import com.arthManager.finance.dto.FinanceFilter;
+import com.arthManager.finance.dto.TransactionCursor;
+import com.arthManager.finance.model.Finance;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Building blocks for the dynamic transaction queries. Each predicate is only added when its
+// filter value is present, so MySQL sees a WHERE clause it can match against the (user_id, ...) indexes.
+public final class FinanceSpecifications {
+
+    private FinanceSpecifications() {
+    }
+
+    // Compares the user_id column; no join to the user table
+    public static Specification<Finance> ownedBy(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    public static Specification<Finance> matching(FinanceFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            Finance.TransactionType transactionType = parseTransactionType(filter.getType());
+            if (transactionType != null) {
+                predicates.add(cb.equal(root.get("transactionType"), transactionType));
+            }
+            List<String> categories = parseCategories(filter.getCategory());
+            if (categories.size() == 1) {
+                predicates.add(cb.equal(root.get("category"), categories.get(0)));
+            } else if (!categories.isEmpty()) {
+                predicates.add(root.get("category").in(categories));
+            }
+            if (hasText(filter.getPaymentMethod())) {
+                predicates.add(cb.equal(root.get("paymentMethod"), filter.getPaymentMethod().trim()));
+            }
+            Finance.DueStatus dueStatus = parseDueStatus(filter.getDueStatus());
+            if (dueStatus != null) {
+                predicates.add(cb.equal(root.get("dueStatus"), dueStatus));
+            }
+            if (filter.getMinAmount() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("amount"), filter.getMinAmount()));
+            }
+            if (filter.getMaxAmount() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("amount"), filter.getMaxAmount()));
+            }
+            if (filter.getStartDate() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("transactionDate"), filter.getStartDate()));
+            }
+            if (filter.getEndDate() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("transactionDate"), filter.getEndDate()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Keyset predicate: rows strictly after the cursor in (transactionDate DESC, id DESC) order
+    public static Specification<Finance> after(TransactionCursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("transactionDate"), cursor.getTransactionDate()),
+                cb.and(
+                        cb.equal(root.get("transactionDate"), cursor.getTransactionDate()),
+                        cb.lessThan(root.get("id"), cursor.getId())));
+    }
+
+    public static Finance.TransactionType parseTransactionType(String type) {
+        if (!hasText(type)) {
+            return null;
+        }
+        try {
+            return Finance.TransactionType.valueOf(type.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid transaction type: " + type);
+        }
+    }
+
+    public static Finance.DueStatus parseDueStatus(String dueStatus) {
+        if (!hasText(dueStatus)) {
+            return null;
+        }
+        try {
+            return Finance.DueStatus.valueOf(dueStatus.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid due status: " + dueStatus);
+        }
+    }
+
+    public static List<String> parseCategories(String category) {
+        if (!hasText(category)) {
+            return List.of();
+        }
+        return Arrays.stream(category.split(","))
+                .map(String::trim)
+                .filter(c -> !c.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
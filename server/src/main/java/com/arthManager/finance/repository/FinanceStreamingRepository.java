@@ -0,0 +1,86 @@
+package com.arthManager.finance.repository;
+
+import com.arthManager.finance.dto.FinanceDto;
+import com.arthManager.finance.dto.FinanceFilter;
+import com.arthManager.finance.model.Finance;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Forward-only reads of a user's transactions for exports: rows are handed to the consumer one by one
+// as MySQL sends them, so memory use does not depend on how many rows the user has.
+@Repository
+@RequiredArgsConstructor
+public class FinanceStreamingRepository {
+
+    static final String SELECT_COLUMNS = "SELECT id, transaction_date, description, amount, category, transaction_type,"
+            + " payment_method, counterparty, due_status, due_date, client_description, email_reminder, amount_repaid, overdue,"
+            + " currency, original_amount";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // includeArchive adds the rows of finance_archive (FinanceArchiveService decides when the filter reaches it)
+    public void streamTransactions(Long userId, FinanceFilter filter, boolean includeArchive, Consumer<FinanceDto> consumer) {
+        FinanceFilterSql filterSql = FinanceFilterSql.of(userId, filter);
+        String sql = SELECT_COLUMNS + " FROM finance WHERE " + filterSql.where()
+                + (includeArchive ? " UNION ALL " + SELECT_COLUMNS + " FROM " + FinanceArchiveRepository.TABLE
+                        + " WHERE " + filterSql.where() : "")
+                + " ORDER BY transaction_date, id";
+        List<Object> params = new ArrayList<>(filterSql.params());
+        if (includeArchive) {
+            params.addAll(filterSql.params());
+        }
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // Connector/J only streams row by row for a forward-only, read-only statement with this fetch size;
+            // any other value buffers the complete result set in the JVM
+            ps.setFetchSize(Integer.MIN_VALUE);
+            bind(ps, params);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(mapRow(rs)));
+    }
+
+    static void bind(PreparedStatement ps, List<Object> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            Object value = params.get(i);
+            if (value instanceof LocalDate date) {
+                ps.setDate(i + 1, Date.valueOf(date));
+            } else {
+                ps.setObject(i + 1, value);
+            }
+        }
+    }
+
+    static FinanceDto mapRow(ResultSet rs) throws SQLException {
+        FinanceDto dto = new FinanceDto();
+        dto.setId(rs.getLong("id"));
+        dto.setTransactionDate(rs.getObject("transaction_date", LocalDate.class));
+        dto.setDescription(rs.getString("description"));
+        dto.setAmount(rs.getBigDecimal("amount"));
+        dto.setCurrency(rs.getString("currency"));
+        dto.setOriginalAmount(rs.getBigDecimal("original_amount"));
+        dto.setCategory(rs.getString("category"));
+        dto.setTransactionType(rs.getString("transaction_type"));
+        dto.setPaymentMethod(rs.getString("payment_method"));
+        dto.setCounterparty(rs.getString("counterparty"));
+        String dueStatus = rs.getString("due_status");
+        dto.setDueStatus(dueStatus != null ? Finance.DueStatus.valueOf(dueStatus) : null);
+        dto.setDueDate(rs.getObject("due_date", LocalDate.class));
+        dto.setClientDescription(rs.getString("client_description"));
+        boolean emailReminder = rs.getBoolean("email_reminder");
+        dto.setEmailReminder(rs.wasNull() ? null : emailReminder);
+        dto.setAmountRepaid(rs.getBigDecimal("amount_repaid"));
+        dto.setOverdue(rs.getBoolean("overdue") && dto.getDueStatus() != Finance.DueStatus.PAID);
+        return dto;
+    }
+}
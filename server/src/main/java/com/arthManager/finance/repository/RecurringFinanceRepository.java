@@ -0,0 +1,52 @@
+package com.arthManager.finance.repository;
+
+import com.arthManager.finance.model.RecurringFinance;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecurringFinanceRepository extends JpaRepository<RecurringFinance, Long> {
+
+        List<RecurringFinance> findByUserIdOrderByNextRunDateAscIdAsc(Long userId);
+
+        Optional<RecurringFinance> findByIdAndUserId(Long id, Long userId);
+
+        // SELECT ... FOR UPDATE for edits: a generator run's advance waits for the edit to commit, and the
+        // edit reads the count and next run date that any earlier advance left, so its save overwrites neither
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT r FROM RecurringFinance r WHERE r.id = :id AND r.user.id = :userId")
+        Optional<RecurringFinance> findByIdAndUserIdForUpdate(@Param("id") Long id, @Param("userId") Long userId);
+
+        // One chunk of active definitions with an occurrence due by :today, continuing after (afterDate, afterId)
+        @Query("SELECT r FROM RecurringFinance r JOIN FETCH r.user"
+                        + " WHERE r.active = true AND r.nextRunDate <= :today"
+                        + " AND (r.nextRunDate > :afterDate OR (r.nextRunDate = :afterDate AND r.id > :afterId))"
+                        + " ORDER BY r.nextRunDate, r.id")
+        List<RecurringFinance> findDueChunk(
+                        @Param("today") LocalDate today,
+                        @Param("afterDate") LocalDate afterDate,
+                        @Param("afterId") Long afterId,
+                        Limit limit);
+
+        // Compare-and-set on generated_count: only one generator run can materialize a given occurrence.
+        // Clears the session afterwards so re-reads see the advanced values.
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("UPDATE RecurringFinance r SET r.generatedCount = :newCount, r.nextRunDate = :nextRunDate, r.active = :active"
+                        + " WHERE r.id = :id AND r.generatedCount = :expectedCount")
+        int advance(
+                        @Param("id") Long id,
+                        @Param("expectedCount") long expectedCount,
+                        @Param("newCount") long newCount,
+                        @Param("nextRunDate") LocalDate nextRunDate,
+                        @Param("active") boolean active);
+}
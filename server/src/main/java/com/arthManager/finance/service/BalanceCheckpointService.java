@@ -0,0 +1,124 @@
+package com.arthManager.finance.service;
+
+import com.arthManager.finance.dto.FinanceAggregate;
+import com.arthManager.finance.model.BalanceCheckpoint;
+import com.arthManager.finance.model.Finance;
+import com.arthManager.finance.repository.BalanceCheckpointRepository;
+import com.arthManager.finance.repository.FinanceMonthlyRollupRepository;
+import com.arthManager.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+// Maintains balance_checkpoint: month-end running balances used by RunningBalanceService.
+// Checkpoints are contiguous from the user's first month with transactions to the last completed month.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BalanceCheckpointService {
+
+    private final BalanceCheckpointRepository checkpointRepository;
+    private final FinanceMonthlyRollupRepository rollupRepository;
+    private final UserRepository userRepository;
+
+    // Write path, inside the Finance write's transaction. sign is +1 for added and -1 for removed records.
+    // A back-dated change only moves the checkpoints from its month forward.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Long userId, Collection<Finance> records, int sign) {
+        Map<String, BigDecimal> deltas = new TreeMap<>();
+        for (Finance finance : records) {
+            BigDecimal effect = effect(finance.getTransactionType(), finance.getAmount());
+            if (effect.signum() != 0) {
+                deltas.merge(YearMonth.from(finance.getTransactionDate()).toString(), effect, BigDecimal::add);
+            }
+        }
+        deltas.values().removeIf(delta -> delta.signum() == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        // Same lock as ensureCheckpoints: a date-only edit does not touch User.balance, so take it explicitly
+        userRepository.lockById(userId);
+        Optional<BalanceCheckpoint> first = checkpointRepository.findTopByUserIdOrderByCheckpointMonthAsc(userId);
+        if (first.isEmpty()) {
+            return;
+        }
+        if (deltas.keySet().iterator().next().compareTo(first.get().getCheckpointMonth()) < 0) {
+            // Earlier than all history so far: checkpoints must start at the new first month
+            checkpointRepository.deleteByUserId(userId);
+            return;
+        }
+        deltas.forEach((month, delta) -> checkpointRepository.shift(userId, month, sign < 0 ? delta.negate() : delta));
+    }
+
+    // Last month that may have a checkpoint for a read up to `month`: checkpoints only cover completed months
+    public YearMonth checkpointLimit(YearMonth month) {
+        YearMonth lastCompleted = YearMonth.now().minusMonths(1);
+        return month.isAfter(lastCompleted) ? lastCompleted : month;
+    }
+
+    // Cheap check run outside any transaction before ensureCheckpoints
+    public boolean isBuiltThrough(Long userId, YearMonth through) {
+        return checkpointRepository.findTopByUserIdOrderByCheckpointMonthDesc(userId)
+                .map(latest -> YearMonth.parse(latest.getCheckpointMonth()).compareTo(through) >= 0)
+                .orElse(false);
+    }
+
+    // Creates the missing checkpoints up to `through` from the monthly rollup. The user's row lock is the
+    // first statement, so no balance write commits halfway through and the rollup is read after it.
+    @Transactional
+    public void ensureCheckpoints(Long userId, YearMonth through) {
+        userRepository.lockById(userId);
+        through = checkpointLimit(through);
+        Optional<BalanceCheckpoint> latest = checkpointRepository.findTopByUserIdOrderByCheckpointMonthDesc(userId);
+        YearMonth start;
+        BigDecimal running;
+        if (latest.isPresent()) {
+            start = YearMonth.parse(latest.get().getCheckpointMonth()).plusMonths(1);
+            running = latest.get().getBalance();
+        } else {
+            String firstMonth = rollupRepository.findFirstMonth(userId);
+            if (firstMonth == null) {
+                return;
+            }
+            start = YearMonth.parse(firstMonth);
+            running = BigDecimal.ZERO;
+        }
+        if (start.isAfter(through)) {
+            return;
+        }
+
+        Map<String, BigDecimal> netByMonth = new HashMap<>();
+        for (FinanceAggregate aggregate : rollupRepository.sumByMonth(userId, start.toString(), through.toString())) {
+            netByMonth.merge(aggregate.getKey(), effect(aggregate.getTransactionType(), aggregate.getTotal()), BigDecimal::add);
+        }
+        List<BalanceCheckpoint> checkpoints = new ArrayList<>();
+        for (YearMonth month = start; !month.isAfter(through); month = month.plusMonths(1)) {
+            running = running.add(netByMonth.getOrDefault(month.toString(), BigDecimal.ZERO));
+            checkpoints.add(new BalanceCheckpoint(null, userId, month.toString(), running));
+        }
+        checkpointRepository.saveAll(checkpoints);
+        log.debug("Created {} balance checkpoints for user {}", checkpoints.size(), userId);
+    }
+
+    // Effect of a transaction on the balance: LOAN and BORROW do not move it (as in FinanceService)
+    static BigDecimal effect(Finance.TransactionType type, BigDecimal amount) {
+        if (type == Finance.TransactionType.INCOME) {
+            return amount;
+        } else if (type == Finance.TransactionType.EXPENSE) {
+            return amount.negate();
+        }
+        return BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,35 @@
+package com.arthManager.finance.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Backfills counterparty_position for existing loans. Enable once after deploying the table:
+// arth.finance.positions.rebuild-on-startup=true
+@Component
+@ConditionalOnProperty(name = "arth.finance.positions.rebuild-on-startup", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class CounterpartyPositionBackfillRunner implements ApplicationRunner {
+
+    private final CounterpartyPositionService positionService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<Long> userIds = positionService.findUserIdsToRebuild();
+        log.info("Rebuilding counterparty positions for {} users", userIds.size());
+        for (Long userId : userIds) {
+            try {
+                positionService.rebuild(userId);
+            } catch (Exception e) {
+                log.error("Failed to rebuild counterparty positions for user {}", userId, e);
+            }
+        }
+        log.info("Counterparty position rebuild finished");
+    }
+}
@@ -0,0 +1,88 @@
+package com.arthManager.finance.service;
+
+import com.arthManager.finance.model.Finance;
+import com.arthManager.finance.repository.CounterpartyPositionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Keeps counterparty_position in step with LOAN/BORROW finance rows and their repayments.
+// Callers invoke apply()/applyRepayment() inside the same transaction as the write.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CounterpartyPositionService {
+
+    // Counterparty used when none was recorded (matches FinanceService.applyFields)
+    static final String DEFAULT_COUNTERPARTY = "Self";
+
+    private final CounterpartyPositionRepository positionRepository;
+
+    private record PositionKey(String counterparty, Finance.TransactionType transactionType) {
+    }
+
+    private static final class Delta {
+        private BigDecimal principal = BigDecimal.ZERO;
+        private BigDecimal repaid = BigDecimal.ZERO;
+        private long count;
+    }
+
+    // sign is +1 for records being added and -1 for records being removed; other types are ignored
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Long userId, Collection<Finance> records, int sign) {
+        Map<PositionKey, Delta> deltas = new LinkedHashMap<>();
+        for (Finance finance : records) {
+            if (!isLoanOrBorrow(finance.getTransactionType())) {
+                continue;
+            }
+            Delta delta = deltas.computeIfAbsent(
+                    new PositionKey(counterparty(finance.getCounterparty()), finance.getTransactionType()),
+                    key -> new Delta());
+            delta.principal = delta.principal.add(finance.getAmount());
+            delta.repaid = delta.repaid.add(finance.getAmountRepaid() != null ? finance.getAmountRepaid() : BigDecimal.ZERO);
+            delta.count++;
+        }
+        // One upsert per counterparty, however many rows the write touched
+        deltas.forEach((key, delta) -> positionRepository.applyDelta(
+                userId,
+                key.counterparty(),
+                key.transactionType().name(),
+                sign < 0 ? delta.principal.negate() : delta.principal,
+                sign < 0 ? delta.repaid.negate() : delta.repaid,
+                sign < 0 ? -delta.count : delta.count));
+    }
+
+    // repaidDelta is positive for a recorded repayment and negative for a removed one
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyRepayment(Long userId, Finance finance, BigDecimal repaidDelta) {
+        positionRepository.applyDelta(userId, counterparty(finance.getCounterparty()),
+                finance.getTransactionType().name(), BigDecimal.ZERO, repaidDelta, 0);
+    }
+
+    // Recomputes a user's positions from the finance table (backfill / repair)
+    @Transactional
+    public void rebuild(Long userId) {
+        positionRepository.deleteByUserId(userId);
+        positionRepository.rebuildForUser(userId);
+    }
+
+    public List<Long> findUserIdsToRebuild() {
+        return positionRepository.findUserIdsWithLoans();
+    }
+
+    static boolean isLoanOrBorrow(Finance.TransactionType type) {
+        return type == Finance.TransactionType.LOAN || type == Finance.TransactionType.BORROW;
+    }
+
+    private static String counterparty(String counterparty) {
+        return counterparty == null || counterparty.isEmpty() ? DEFAULT_COUNTERPARTY : counterparty;
+    }
+}
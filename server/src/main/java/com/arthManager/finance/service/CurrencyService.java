@@ -0,0 +1,138 @@
+package com.arthManager.finance.service;
+
+import com.arthManager.finance.model.ExchangeRate;
+import com.arthManager.finance.repository.ExchangeRateRepository;
+import com.arthManager.finance.repository.FinanceRepository;
+import com.arthManager.user.model.User;
+import com.arthManager.user.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+// Currencies of finance amounts. Finance.amount is always in the user's base currency: a transaction
+// entered in another currency is converted once, at the rate of its transaction date, and keeps the
+// entered amount and currency alongside. Every SQL aggregation (rollups, analytics, summary, balance)
+// therefore reports in the base currency without converting rows at read time.
+// Rates come from the local exchange_rate table; lookups are cached per (currency, date).
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CurrencyService {
+
+    public static final String CACHE_NAME = "exchangeRates";
+
+    private static final int AMOUNT_SCALE = 2;
+
+    private final ExchangeRateRepository exchangeRateRepository;
+    private final FinanceRepository financeRepository;
+    private final FinanceArchiveService archiveService;
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+
+    // The currency the rates file quotes every rate in
+    @Value("${arth.finance.currency.reference:INR}")
+    private String referenceCurrency;
+
+    @Value("${arth.finance.currency.default-base:INR}")
+    private String defaultBaseCurrency;
+
+    private record RateKey(String currency, LocalDate date) {
+    }
+
+    public String baseCurrency(User user) {
+        return user.getBaseCurrency() != null ? user.getBaseCurrency() : defaultBaseCurrency;
+    }
+
+    // Symbol for messages, e.g. ₹ for INR and $ for USD
+    public String symbol(User user) {
+        return Currency.getInstance(baseCurrency(user)).getSymbol(Locale.ENGLISH);
+    }
+
+    // Upper-case ISO 4217 code; unknown codes are rejected
+    public String normalize(String code) {
+        try {
+            return Currency.getInstance(code.trim().toUpperCase(Locale.ROOT)).getCurrencyCode();
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Unknown currency: " + code);
+        }
+    }
+
+    public BigDecimal convert(BigDecimal amount, String from, String to, LocalDate date) {
+        if (from.equals(to)) {
+            return amount;
+        }
+        return amount.multiply(rateAt(from, date)).divide(rateAt(to, date), AMOUNT_SCALE, RoundingMode.HALF_EVEN);
+    }
+
+    // Like convert, but empty instead of failing when either currency has no rate on or before `date`
+    public Optional<BigDecimal> tryConvert(BigDecimal amount, String from, String to, LocalDate date) {
+        if (from.equals(to)) {
+            return Optional.of(amount);
+        }
+        Optional<BigDecimal> fromRate = findRate(from, date);
+        Optional<BigDecimal> toRate = findRate(to, date);
+        if (fromRate.isEmpty() || toRate.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(amount.multiply(fromRate.get()).divide(toRate.get(), AMOUNT_SCALE, RoundingMode.HALF_EVEN));
+    }
+
+    // Value of one unit of `currency` in the reference currency on `date`
+    public BigDecimal rateAt(String currency, LocalDate date) {
+        return findRate(currency, date).orElseThrow(() -> new IllegalArgumentException(
+                "No exchange rate for " + currency + " on or before " + date));
+    }
+
+    // Missing rates are not cached (Caffeine skips null values), so a rate added to the file is picked up
+    // after the next load
+    public Optional<BigDecimal> findRate(String currency, LocalDate date) {
+        if (currency.equals(referenceCurrency)) {
+            return Optional.of(BigDecimal.ONE);
+        }
+        return Optional.ofNullable((BigDecimal) rates().get(new RateKey(currency, date), key -> exchangeRateRepository
+                .findTopByCurrencyAndRateDateLessThanEqualOrderByRateDateDesc(currency, date)
+                .map(ExchangeRate::getRate)
+                .orElse(null)));
+    }
+
+    // Adds or replaces rates (by currency and date) and drops every cached lookup
+    @Transactional
+    public void loadRates(List<ExchangeRate> exchangeRates) {
+        for (ExchangeRate exchangeRate : exchangeRates) {
+            exchangeRateRepository.upsert(exchangeRate.getCurrency(), exchangeRate.getRateDate(), exchangeRate.getRate());
+        }
+        rates().invalidateAll();
+    }
+
+    // Stored amounts are in the base currency, so it can only change while the user has no transactions
+    @Transactional
+    public String setBaseCurrency(String username, String currency) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        String code = normalize(currency);
+        if (!code.equals(baseCurrency(user))
+                && (financeRepository.existsByUser(user) || archiveService.reaches(user.getId(), (LocalDate) null))) {
+            throw new IllegalArgumentException("The base currency can only be changed before the first transaction");
+        }
+        user.setBaseCurrency(code);
+        return code;
+    }
+
+    private Cache<Object, Object> rates() {
+        return ((CaffeineCache) cacheManager.getCache(CACHE_NAME)).getNativeCache();
+    }
+}
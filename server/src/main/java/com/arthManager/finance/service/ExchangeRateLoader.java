@@ -0,0 +1,80 @@
+package com.arthManager.finance.service;
+
+import com.arthManager.finance.model.ExchangeRate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Loads the local exchange-rate file into exchange_rate at startup; rates never come from the network.
+// One rate per line, "date,currency,rate" (e.g. 2024-01-01,USD,83.05): the value of one unit of the
+// currency in the reference currency from that date on. Blank lines, '#' comments and a header are skipped.
+// A malformed line stops the startup rather than loading a partial table.
+@Component
+@ConditionalOnProperty(name = "arth.finance.currency.load-on-startup", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class ExchangeRateLoader implements ApplicationRunner {
+
+    private final CurrencyService currencyService;
+    private final ResourceLoader resourceLoader;
+
+    @Value("${arth.finance.currency.rates-file:classpath:exchange-rates.csv}")
+    private String ratesFile;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Resource resource = resourceLoader.getResource(ratesFile);
+        if (!resource.exists()) {
+            log.warn("Exchange-rate file {} not found; foreign amounts are booked in the base currency", ratesFile);
+            return;
+        }
+        List<ExchangeRate> rates = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#") || line.toLowerCase().startsWith("date,")) {
+                    continue;
+                }
+                rates.add(parse(line, lineNumber));
+            }
+        }
+        currencyService.loadRates(rates);
+        log.info("Loaded {} exchange rates from {}", rates.size(), ratesFile);
+    }
+
+    private ExchangeRate parse(String line, int lineNumber) {
+        String[] fields = line.split(",");
+        try {
+            if (fields.length != 3) {
+                throw new IllegalArgumentException("expected date,currency,rate");
+            }
+            BigDecimal rate = new BigDecimal(fields[2].trim());
+            if (rate.signum() <= 0) {
+                throw new IllegalArgumentException("rate must be positive");
+            }
+            return new ExchangeRate(null, currencyService.normalize(fields[1]), LocalDate.parse(fields[0].trim()), rate);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalStateException("Invalid exchange rate on line " + lineNumber + " of " + ratesFile
+                    + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.arthManager.finance.service;
+
+import com.arthManager.finance.model.Finance;
+import com.arthManager.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Nightly move of INCOME/EXPENSE rows older than the archive horizon into finance_archive.
+// Walks the users in keyset order; per user and type each chunk is one range of
+// idx_finance_user_type_date and runs in its own transaction.
+@Component
+@ConditionalOnProperty(name = "arth.finance.archive.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class FinanceArchiveJob {
+
+    private static final int USER_PAGE_SIZE = 500;
+
+    private final FinanceArchiveService archiveService;
+    private final UserRepository userRepository;
+    private final FinanceSuggestionService suggestionService;
+
+    @Value("${arth.finance.archive.chunk-size:1000}")
+    private int chunkSize;
+
+    @Scheduled(cron = "${arth.finance.archive.cron:0 30 3 * * *}")
+    public void run() {
+        LocalDate cutoff = archiveService.cutoff(LocalDate.now());
+        long moved = 0;
+        Long afterId = 0L;
+        List<Long> userIds;
+        do {
+            userIds = userRepository.findIdsAfter(afterId, Limit.of(USER_PAGE_SIZE));
+            for (Long userId : userIds) {
+                long movedForUser = 0;
+                for (Finance.TransactionType type : new Finance.TransactionType[]{Finance.TransactionType.INCOME, Finance.TransactionType.EXPENSE}) {
+                    int rows;
+                    do {
+                        rows = archiveService.archiveChunk(userId, type, cutoff, chunkSize);
+                        movedForUser += rows;
+                    } while (rows == chunkSize);
+                }
+                if (movedForUser > 0) {
+                    suggestionService.evict(userId);
+                }
+                moved += movedForUser;
+            }
+            if (!userIds.isEmpty()) {
+                afterId = userIds.get(userIds.size() - 1);
+            }
+        } while (userIds.size() == USER_PAGE_SIZE);
+        log.info("Finance archive pass: {} rows dated before {} moved to finance_archive", moved, cutoff);
+    }
+}
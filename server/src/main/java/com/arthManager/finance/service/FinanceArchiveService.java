@@ -0,0 +1,177 @@
+package com.arthManager.finance.service;
+
+import com.arthManager.finance.dto.FinanceAggregate;
+import com.arthManager.finance.dto.FinanceDto;
+import com.arthManager.finance.dto.FinanceFilter;
+import com.arthManager.finance.dto.TimeSeriesPointDto;
+import com.arthManager.finance.dto.TransactionCursor;
+import com.arthManager.finance.model.Finance;
+import com.arthManager.finance.repository.FinanceArchiveRepository;
+import com.arthManager.finance.repository.FinanceSpecifications;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Cold archive of old finance rows (arth.finance.archive.enabled=true). FinanceArchiveJob moves INCOME/EXPENSE
+// rows dated before the horizon into finance_archive; loans and borrows stay in finance because repayments,
+// positions and the due-date job keep updating them. Archived rows are read-only.
+// Reads only touch the archive when their date range reaches the user's newest archived date, so queries over
+// recent data keep reading finance alone.
+@Service
+@DependsOn("entityManagerFactory") // the archive table is created LIKE finance, which Hibernate creates
+@RequiredArgsConstructor
+@Slf4j
+public class FinanceArchiveService {
+
+    private final FinanceArchiveRepository archiveRepository;
+
+    @Value("${arth.finance.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${arth.finance.archive.horizon-months:24}")
+    private int horizonMonths;
+
+    @PostConstruct
+    void createTable() {
+        if (enabled) {
+            archiveRepository.createTableIfMissing();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Rows dated before this day are archived: the first day of the month horizonMonths ago
+    public LocalDate cutoff(LocalDate today) {
+        return today.minusMonths(horizonMonths).withDayOfMonth(1);
+    }
+
+    // True when a range starting at `from` (null = unbounded) can contain archived rows of the user
+    public boolean reaches(Long userId, LocalDate from) {
+        if (!enabled) {
+            return false;
+        }
+        LocalDate latest = archiveRepository.findLatestDate(userId);
+        return latest != null && (from == null || !from.isAfter(latest));
+    }
+
+    // The archive only has INCOME/EXPENSE rows without a due status, so other filters never reach it
+    public boolean reaches(Long userId, FinanceFilter filter) {
+        if (filter == null) {
+            return reaches(userId, (LocalDate) null);
+        }
+        Finance.TransactionType type = FinanceSpecifications.parseTransactionType(filter.getType());
+        if (type == Finance.TransactionType.LOAN || type == Finance.TransactionType.BORROW
+                || FinanceSpecifications.parseDueStatus(filter.getDueStatus()) != null) {
+            return false;
+        }
+        return reaches(userId, filter.getStartDate());
+    }
+
+    @Transactional
+    public int archiveChunk(Long userId, Finance.TransactionType type, LocalDate cutoff, int limit) {
+        return archiveRepository.moveChunk(userId, type, cutoff, limit);
+    }
+
+    public Page<FinanceDto> findPage(Long userId, FinanceFilter filter, Pageable pageable) {
+        List<FinanceDto> content = archiveRepository.findUnion(userId, filter, null, pageable.getSort(),
+                pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(content, pageable, archiveRepository.countUnion(userId, filter));
+    }
+
+    // Fetches one extra row to learn whether there is a next slice, like the JPA slice queries
+    public Slice<FinanceDto> findSlice(Long userId, FinanceFilter filter, TransactionCursor after, Sort sort,
+                                       Pageable pageable) {
+        List<FinanceDto> content = new ArrayList<>(archiveRepository.findUnion(userId, filter, after, sort,
+                pageable.getOffset(), pageable.getPageSize() + 1));
+        boolean hasNext = content.size() > pageable.getPageSize();
+        if (hasNext) {
+            content.remove(content.size() - 1);
+        }
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    public Optional<FinanceDto> findById(Long userId, Long id) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return archiveRepository.findByIdAndUserId(id, userId).stream().findFirst();
+    }
+
+    // Archived contributions to the analytics aggregations; empty when the range does not reach the archive
+    public List<FinanceAggregate> sumByCategory(Long userId, LocalDate start, LocalDate end) {
+        return reaches(userId, start) ? archiveRepository.sumByCategory(userId, start, end) : List.of();
+    }
+
+    public List<FinanceAggregate> sumByPaymentMethod(Long userId, LocalDate start, LocalDate end) {
+        return reaches(userId, start) ? archiveRepository.sumByPaymentMethod(userId, start, end) : List.of();
+    }
+
+    public List<FinanceAggregate> sumByMonth(Long userId, LocalDate start, LocalDate end) {
+        return reaches(userId, start) ? archiveRepository.sumByMonth(userId, start, end) : List.of();
+    }
+
+    // Archived use counts for the suggestion index seed
+    public List<FinanceAggregate> countByPaymentMethod(Long userId) {
+        return reaches(userId, (LocalDate) null) ? archiveRepository.countByPaymentMethod(userId) : List.of();
+    }
+
+    public List<FinanceAggregate> countByCounterparty(Long userId) {
+        return reaches(userId, (LocalDate) null) ? archiveRepository.countByCounterparty(userId) : List.of();
+    }
+
+    public List<TimeSeriesPointDto> sumIncomeExpenseByDate(Long userId, LocalDate from, LocalDate to) {
+        return reaches(userId, from) ? archiveRepository.sumIncomeExpenseByDate(userId, from, to) : List.of();
+    }
+
+    public FinanceArchiveRepository.ArchivedTotals sumTotals(Long userId) {
+        return reaches(userId, (LocalDate) null) ? archiveRepository.sumTotals(userId)
+                : new FinanceArchiveRepository.ArchivedTotals(BigDecimal.ZERO, BigDecimal.ZERO, 0);
+    }
+
+    public void addToRollups(Long userId) {
+        if (enabled) {
+            archiveRepository.addToRollups(userId);
+        }
+    }
+
+    public List<Long> findUserIds() {
+        return enabled ? archiveRepository.findUserIds() : List.of();
+    }
+
+    // Adds archived groups to the live ones with the same key and type, keeping the order of first appearance
+    public static List<FinanceAggregate> merge(List<FinanceAggregate> live, List<FinanceAggregate> archived) {
+        if (archived.isEmpty()) {
+            return live;
+        }
+        Map<String, FinanceAggregate> merged = new LinkedHashMap<>();
+        for (FinanceAggregate aggregate : archived) {
+            merged.put(aggregate.getKey() + "|" + aggregate.getTransactionType(), aggregate);
+        }
+        for (FinanceAggregate aggregate : live) {
+            merged.merge(aggregate.getKey() + "|" + aggregate.getTransactionType(), aggregate,
+                    (a, b) -> new FinanceAggregate(a.getKey(), a.getTransactionType(),
+                            a.getTotal().add(b.getTotal()), a.getCount() + b.getCount()));
+        }
+        return new ArrayList<>(merged.values());
+    }
+}
@@ -0,0 +1,163 @@
+package com.arthManager.finance.service;
+
+import com.arthManager.cache.UserCacheGenerations;
+import com.arthManager.finance.dto.FinanceDto;
+import com.arthManager.finance.repository.FinanceCompactionRepository;
+import com.arthManager.user.model.User;
+import com.arthManager.user.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Monthly compaction pass over the users who opted in (User.compactAfterYears).
+// The replaced rows of each user are appended to <archive-dir>/user-<id>-<date>.ndjson.gz, one JSON
+// transaction per line (the NDJSON export format); each month is flushed to disk before its delete commits.
+@Component
+@ConditionalOnProperty(name = "arth.finance.compaction.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class FinanceCompactionJob {
+
+    private static final int USER_PAGE_SIZE = 200;
+
+    private final FinanceCompactionService compactionService;
+    private final UserRepository userRepository;
+    private final UserCacheGenerations cacheGenerations;
+    private final FinanceSuggestionService suggestionService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${arth.finance.compaction.archive-dir:finance-archive}")
+    private String archiveDir;
+
+    @Scheduled(cron = "${arth.finance.compaction.cron:0 0 4 1 * *}")
+    public void run() {
+        LocalDate today = LocalDate.now();
+        Long afterId = 0L;
+        List<User> users;
+        do {
+            users = userRepository.findCompactionCandidatesAfter(afterId, Limit.of(USER_PAGE_SIZE));
+            for (User user : users) {
+                try {
+                    compactUser(user, today);
+                } catch (IOException | RuntimeException e) {
+                    // Months already compacted stay compacted; the rest is retried on the next run
+                    log.error("Finance compaction for user {} failed: {}", user.getId(), e.getMessage(), e);
+                }
+            }
+            if (!users.isEmpty()) {
+                afterId = users.get(users.size() - 1).getId();
+            }
+        } while (users.size() == USER_PAGE_SIZE);
+    }
+
+    private void compactUser(User user, LocalDate today) throws IOException {
+        LocalDate cutoff = compactionService.cutoff(today, user.getCompactAfterYears());
+        List<YearMonth> months = compactionService.findMonthsToCompact(user.getId(), cutoff);
+        if (months.isEmpty()) {
+            return;
+        }
+        Path file = Paths.get(archiveDir).resolve("user-" + user.getId() + "-" + today + ".ndjson.gz");
+        Files.createDirectories(file.getParent());
+        int rows = 0;
+        int summaries = 0;
+        // Appending to an existing file adds a gzip member; concatenated members are still one valid gzip file
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(
+                Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND), true),
+                StandardCharsets.UTF_8))) {
+            for (YearMonth month : months) {
+                FinanceCompactionService.MonthResult result = compactionService.compactMonth(
+                        user.getId(), month, transactions -> write(writer, transactions));
+                rows += result.rows();
+                summaries += result.summaries();
+            }
+        } finally {
+            cacheGenerations.invalidate(user.getUsername());
+            // Summary rows carry no counterparty
+            suggestionService.evict(user.getId());
+        }
+        log.info("Compacted {} transactions of user {} before {} into {} summary rows (archive: {})",
+                rows, user.getId(), cutoff, summaries, file);
+    }
+
+    // Summary rows written while lockRows weighed every row 0 carry compacted_count = 0. Their real counts
+    // are recounted from the user's archive files: every replaced ordinary row is in exactly one file, and
+    // re-compacted summary lines are skipped because their own rows are counted already.
+    @EventListener(ApplicationReadyEvent.class)
+    public void repairZeroCounts() {
+        for (Long userId : compactionService.findUsersWithZeroCounts()) {
+            try {
+                int repaired = compactionService.repairZeroCounts(userId, countArchived(userId));
+                log.info("Repaired {} compacted summary rows of user {}", repaired, userId);
+            } catch (IOException | RuntimeException e) {
+                log.error("Repairing compacted summaries of user {} failed: {}", userId, e.getMessage(), e);
+            }
+        }
+    }
+
+    private Map<FinanceCompactionService.SummaryGroup, Integer> countArchived(Long userId) throws IOException {
+        Map<FinanceCompactionService.SummaryGroup, Integer> counts = new HashMap<>();
+        Path dir = Paths.get(archiveDir);
+        if (!Files.isDirectory(dir)) {
+            return counts;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "user-" + userId + "-*.ndjson.gz")) {
+            for (Path file : files) {
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                        new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        FinanceDto transaction = objectMapper.readValue(line, FinanceDto.class);
+                        if (transaction.getDescription() != null
+                                && transaction.getDescription().startsWith(FinanceCompactionRepository.SUMMARY_PREFIX)) {
+                            continue;
+                        }
+                        counts.merge(new FinanceCompactionService.SummaryGroup(YearMonth.from(transaction.getTransactionDate()),
+                                transaction.getCategory(), transaction.getTransactionType(), transaction.getPaymentMethod()),
+                                1, Integer::sum);
+                    }
+                }
+            }
+        }
+        return counts;
+    }
+
+    private void write(Writer writer, List<FinanceDto> transactions) {
+        try {
+            for (FinanceDto transaction : transactions) {
+                writer.write(objectMapper.writeValueAsString(transaction));
+                writer.write('\n');
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
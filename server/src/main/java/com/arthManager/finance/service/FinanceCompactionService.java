@@ -0,0 +1,166 @@
+package com.arthManager.finance.service;
+
+import com.arthManager.finance.dto.FinanceDto;
+import com.arthManager.finance.repository.FinanceArchiveRepository;
+import com.arthManager.finance.repository.FinanceCompactionRepository;
+import com.arthManager.user.model.User;
+import com.arthManager.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+// Opt-in compaction (User.compactAfterYears): INCOME/EXPENSE rows older than the user's horizon are
+// replaced by one summary row per month, category, type and payment method, dated the first of the month.
+// Amounts and (through compacted_count) counts per group are unchanged, so the balance, rollups, category
+// totals, checkpoints and analytics stay exact; only line-level detail inside a month is given up.
+// Loans and borrows are never compacted. The replaced rows go to an NDJSON archive file first.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FinanceCompactionService {
+
+    private static final int MIN_YEARS = 1;
+
+    private final FinanceCompactionRepository compactionRepository;
+    private final FinanceArchiveService archiveService;
+    private final UserRepository userRepository;
+    private final FinanceRollupService rollupService;
+
+    public record MonthResult(int rows, int summaries) {
+    }
+
+    private record SummaryKey(String category, String transactionType, String paymentMethod) {
+    }
+
+    // A summary row's group: the month it is dated in plus its category, type and payment method
+    public record SummaryGroup(YearMonth month, String category, String transactionType, String paymentMethod) {
+    }
+
+    // null turns compaction off for the user
+    @Transactional
+    public void setCompactAfterYears(String username, Integer years) {
+        if (years != null && years < MIN_YEARS) {
+            throw new IllegalArgumentException("Compaction needs at least " + MIN_YEARS + " year of detail");
+        }
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        user.setCompactAfterYears(years);
+    }
+
+    // Months before this day are compacted
+    public LocalDate cutoff(LocalDate today, int years) {
+        return today.minusYears(years).withDayOfMonth(1);
+    }
+
+    public List<YearMonth> findMonthsToCompact(Long userId, LocalDate cutoff) {
+        LocalDate first = null;
+        for (String table : tables()) {
+            LocalDate date = compactionRepository.findFirstDate(table, userId, cutoff);
+            if (date != null && (first == null || date.isBefore(first))) {
+                first = date;
+            }
+        }
+        List<YearMonth> months = new ArrayList<>();
+        if (first == null) {
+            return months;
+        }
+        for (YearMonth month = YearMonth.from(first); month.atDay(1).isBefore(cutoff); month = month.plusMonths(1)) {
+            for (String table : tables()) {
+                if (compactionRepository.hasLooseRows(table, userId, month.atDay(1), month.atEndOfMonth())) {
+                    months.add(month);
+                    break;
+                }
+            }
+        }
+        return months;
+    }
+
+    // One month per transaction. The user row lock serializes with finance writes (they take it in
+    // BalanceCheckpointService.apply). `archive` receives the month's rows before they are deleted.
+    @Transactional
+    public MonthResult compactMonth(Long userId, YearMonth month, Consumer<List<FinanceDto>> archive) {
+        userRepository.lockById(userId);
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.atEndOfMonth();
+        Map<SummaryKey, FinanceCompactionRepository.Summary> summaries = new LinkedHashMap<>();
+        Map<String, List<Long>> idsByTable = new LinkedHashMap<>();
+        List<FinanceDto> rows = new ArrayList<>();
+        for (String table : tables()) {
+            List<Long> ids = new ArrayList<>();
+            for (FinanceCompactionRepository.CompactionRow row : compactionRepository.lockRows(table, userId, from, to)) {
+                FinanceDto transaction = row.transaction();
+                rows.add(transaction);
+                ids.add(transaction.getId());
+                summaries.merge(
+                        new SummaryKey(transaction.getCategory(), transaction.getTransactionType(), transaction.getPaymentMethod()),
+                        new FinanceCompactionRepository.Summary(transaction.getCategory(), transaction.getTransactionType(),
+                                transaction.getPaymentMethod(), transaction.getAmount(), row.weight()),
+                        (a, b) -> new FinanceCompactionRepository.Summary(a.category(), a.transactionType(),
+                                a.paymentMethod(), a.amount().add(b.amount()), a.count() + b.count()));
+            }
+            idsByTable.put(table, ids);
+        }
+        if (rows.isEmpty()) {
+            return new MonthResult(0, 0);
+        }
+        for (FinanceCompactionRepository.Summary summary : summaries.values()) {
+            if (summary.count() < 1) {
+                throw new IllegalStateException("Refusing to write a compacted summary of " + summary.count()
+                        + " transactions for user " + userId + ", " + month);
+            }
+        }
+        archive.accept(rows);
+        idsByTable.forEach(compactionRepository::deleteByIds);
+        compactionRepository.insertSummaries(userId, from, summaries.values());
+        return new MonthResult(rows.size(), summaries.size());
+    }
+
+    public List<Long> findUsersWithZeroCounts() {
+        Set<Long> userIds = new LinkedHashSet<>();
+        for (String table : tables()) {
+            userIds.addAll(compactionRepository.findZeroCountUserIds(table));
+        }
+        return new ArrayList<>(userIds);
+    }
+
+    // Sets the count of the user's compacted_count = 0 summary rows from `counts` (original transactions per
+    // group, recounted from the archive files) and rebuilds the rollups that were derived from them.
+    // Groups without a recount are left for a later run; returns the number of rows repaired.
+    @Transactional
+    public int repairZeroCounts(Long userId, Map<SummaryGroup, Integer> counts) {
+        userRepository.lockById(userId);
+        int repaired = 0;
+        for (String table : tables()) {
+            for (FinanceCompactionRepository.ZeroCountSummary summary : compactionRepository.findZeroCountSummaries(table, userId)) {
+                Integer count = counts.get(new SummaryGroup(YearMonth.from(summary.transactionDate()), summary.category(),
+                        summary.transactionType(), summary.paymentMethod()));
+                if (count == null || count < 1) {
+                    log.warn("No archived transactions found for compacted summary {} of user {}", summary.id(), userId);
+                    continue;
+                }
+                compactionRepository.updateCount(table, summary.id(), count);
+                repaired++;
+            }
+        }
+        if (repaired > 0) {
+            rollupService.rebuild(userId);
+        }
+        return repaired;
+    }
+
+    private List<String> tables() {
+        return archiveService.isEnabled() ? List.of("finance", FinanceArchiveRepository.TABLE) : List.of("finance");
+    }
+}
@@ -0,0 +1,58 @@
+package com.arthManager.finance.service;
+
+import com.arthManager.finance.model.Finance;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+// Daily pass over open loans/borrows due in [today - lookbackDays, today + leadDays]: flags overdue
+// records and sends due/overdue reminders for those with emailReminder=true.
+// Walks idx_finance_due_status_date in fixed-size keyset chunks, one transaction per chunk.
+@Component
+@ConditionalOnProperty(name = "arth.finance.due-date.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class FinanceDueDateJob {
+
+    private final FinanceDueDateService dueDateService;
+
+    @Value("${arth.finance.due-date.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${arth.finance.due-date.lead-days:3}")
+    private int leadDays;
+
+    @Value("${arth.finance.due-date.lookback-days:90}")
+    private int lookbackDays;
+
+    @Scheduled(cron = "${arth.finance.due-date.cron:0 0 6 * * *}")
+    public void run() {
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusDays(lookbackDays);
+        LocalDate until = today.plusDays(leadDays);
+        int rows = 0;
+        int flagged = 0;
+        int reminders = 0;
+        // One status at a time keeps every chunk a single range of the (due_status, due_date, id) index
+        for (Finance.DueStatus status : new Finance.DueStatus[]{Finance.DueStatus.UNPAID, Finance.DueStatus.PARTIALLY_PAID}) {
+            LocalDate afterDate = from.minusDays(1);
+            Long afterId = 0L;
+            FinanceDueDateService.ChunkResult chunk;
+            do {
+                chunk = dueDateService.processChunk(status, from, until, afterDate, afterId, today, leadDays, chunkSize);
+                rows += chunk.rows();
+                flagged += chunk.flagged();
+                reminders += chunk.reminders();
+                afterDate = chunk.lastDueDate();
+                afterId = chunk.lastId();
+            } while (chunk.rows() == chunkSize);
+        }
+        log.info("Due-date pass for {}: {} records checked, {} flagged overdue, {} reminders queued",
+                today, rows, flagged, reminders);
+    }
+}
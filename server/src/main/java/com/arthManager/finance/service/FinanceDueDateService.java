@@ -0,0 +1,105 @@
+package com.arthManager.finance.service;
+
+import com.arthManager.cache.UserCacheGenerations;
+import com.arthManager.email.service.EmailService;
+import com.arthManager.finance.dto.DueFinanceRow;
+import com.arthManager.finance.model.Finance;
+import com.arthManager.finance.repository.FinanceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Processes one chunk of due LOAN/BORROW rows per transaction, so locks and memory stay bounded
+// however many rows fall into the window. Driven by FinanceDueDateJob.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FinanceDueDateService {
+
+    static final List<Finance.TransactionType> LOAN_TYPES = List.of(Finance.TransactionType.LOAN, Finance.TransactionType.BORROW);
+
+    private final FinanceRepository financeRepository;
+    private final EmailService emailService;
+    private final UserCacheGenerations cacheGenerations;
+
+    // Position after the last row of a chunk; the next chunk starts strictly after it
+    public record ChunkResult(int rows, int flagged, int reminders, LocalDate lastDueDate, Long lastId) {
+    }
+
+    private record Reminder(String email, DueFinanceRow row, boolean overdue) {
+    }
+
+    @Transactional
+    public ChunkResult processChunk(Finance.DueStatus status, LocalDate from, LocalDate until,
+                                    LocalDate afterDate, Long afterId, LocalDate today, int leadDays, int chunkSize) {
+        List<DueFinanceRow> rows = financeRepository.findDueChunk(
+                status, LOAN_TYPES, from, until, afterDate, afterId, Limit.of(chunkSize));
+        if (rows.isEmpty()) {
+            return new ChunkResult(0, 0, 0, afterDate, afterId);
+        }
+
+        List<Long> newlyOverdue = new ArrayList<>();
+        List<Reminder> reminders = new ArrayList<>();
+        Set<String> changedUsers = new LinkedHashSet<>();
+        for (DueFinanceRow row : rows) {
+            boolean overdue = row.getDueDate().isBefore(today);
+            if (overdue && !Boolean.TRUE.equals(row.getOverdue())) {
+                newlyOverdue.add(row.getId());
+                changedUsers.add(row.getUsername());
+            }
+            if (Boolean.TRUE.equals(row.getEmailReminder()) && reminderDue(row, overdue, leadDays)
+                    && financeRepository.claimReminder(row.getId(), today) == 1) {
+                reminders.add(new Reminder(row.getEmail(), row, overdue));
+            }
+        }
+        int flagged = newlyOverdue.isEmpty() ? 0 : financeRepository.markOverdue(newlyOverdue);
+        changedUsers.forEach(cacheGenerations::invalidate);
+        enqueueAfterCommit(reminders, today);
+
+        DueFinanceRow last = rows.get(rows.size() - 1);
+        return new ChunkResult(rows.size(), flagged, reminders.size(), last.getDueDate(), last.getId());
+    }
+
+    // One "due soon" reminder once the record enters the lead window, and one more once it is overdue
+    private boolean reminderDue(DueFinanceRow row, boolean overdue, int leadDays) {
+        LocalDate lastReminder = row.getLastReminderDate();
+        if (lastReminder == null) {
+            return true;
+        }
+        return overdue
+                ? lastReminder.isBefore(row.getDueDate())
+                : lastReminder.isBefore(row.getDueDate().minusDays(leadDays));
+    }
+
+    // Mails go out only if the claims committed; sending itself runs on the async executor.
+    // A rejected send releases its claim so the reminder is not lost for the day.
+    private void enqueueAfterCommit(List<Reminder> reminders, LocalDate today) {
+        if (reminders.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (Reminder reminder : reminders) {
+                    try {
+                        emailService.sendDueReminderEmail(reminder.email(), reminder.row(), reminder.overdue());
+                    } catch (TaskRejectedException e) {
+                        log.warn("Reminder queue full, deferred reminder for finance record {}", reminder.row().getId());
+                        financeRepository.releaseReminder(reminder.row().getId(), today, reminder.row().getLastReminderDate());
+                    }
+                }
+            }
+        });
+    }
+}
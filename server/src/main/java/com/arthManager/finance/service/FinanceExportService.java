@@ -0,0 +1,135 @@
+package com.arthManager.finance.service;
+
+import com.arthManager.finance.dto.FinanceDto;
+import com.arthManager.finance.dto.FinanceFilter;
+import com.arthManager.finance.repository.FinanceStreamingRepository;
+import com.arthManager.user.model.User;
+import com.arthManager.user.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+// Streams a user's transactions as CSV or NDJSON straight from a JDBC cursor to the response body
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FinanceExportService {
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format from(String value) {
+            try {
+                return Format.valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + value);
+            }
+        }
+    }
+
+    private static final String CSV_HEADER = "id,transaction_date,description,amount,category,transaction_type,"
+            + "payment_method,counterparty,due_status,due_date,client_description,email_reminder,amount_repaid,"
+            + "currency,original_amount";
+
+    private final FinanceStreamingRepository streamingRepository;
+    private final UserRepository userRepository;
+    private final FinanceArchiveService archiveService;
+    private final ObjectMapper objectMapper;
+
+    // Resolves the user on the request thread; the returned body runs later on the async executor
+    public StreamingResponseBody export(String username, FinanceFilter filter, Format format) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        Long userId = user.getId();
+        boolean includeArchive = archiveService.reaches(userId, filter);
+        return outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            if (format == Format.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            try {
+                streamingRepository.streamTransactions(userId, filter, includeArchive, dto -> writeRow(writer, dto, format));
+            } catch (UncheckedIOException e) {
+                // Client went away mid-download
+                log.warn("Finance export for user {} aborted: {}", userId, e.getMessage());
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+    }
+
+    private void writeRow(Writer writer, FinanceDto dto, Format format) {
+        try {
+            if (format == Format.NDJSON) {
+                writer.write(objectMapper.writeValueAsString(dto));
+            } else {
+                writer.write(csvLine(dto));
+            }
+            writer.write('\n');
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize transaction " + dto.getId(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String csvLine(FinanceDto dto) {
+        return String.join(",",
+                csv(dto.getId()),
+                csv(dto.getTransactionDate()),
+                csv(dto.getDescription()),
+                csv(dto.getAmount() != null ? dto.getAmount().toPlainString() : null),
+                csv(dto.getCategory()),
+                csv(dto.getTransactionType()),
+                csv(dto.getPaymentMethod()),
+                csv(dto.getCounterparty()),
+                csv(dto.getDueStatus()),
+                csv(dto.getDueDate()),
+                csv(dto.getClientDescription()),
+                csv(dto.getEmailReminder()),
+                csv(dto.getAmountRepaid() != null ? dto.getAmountRepaid().toPlainString() : null),
+                csv(dto.getCurrency()),
+                csv(dto.getOriginalAmount() != null ? dto.getOriginalAmount().toPlainString() : null));
+    }
+
+    // RFC 4180 quoting: wrap fields containing separators, quotes or line breaks and double inner quotes
+    private String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
@@ -0,0 +1,114 @@
+package com.arthManager.finance.service;
+
+import com.arthManager.cache.UserCacheGenerations;
+import com.arthManager.finance.dto.AddRepayment;
+import com.arthManager.finance.dto.CounterpartyPositionDto;
+import com.arthManager.finance.dto.RepaymentDto;
+import com.arthManager.finance.model.Finance;
+import com.arthManager.finance.model.FinanceRepayment;
+import com.arthManager.finance.repository.CounterpartyPositionRepository;
+import com.arthManager.finance.repository.FinanceRepaymentRepository;
+import com.arthManager.finance.repository.FinanceRepository;
+import com.arthManager.user.model.User;
+import com.arthManager.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+// Repayments recorded against LOAN/BORROW records. Each write moves Finance.amountRepaid / dueStatus
+// and the counterparty position by the repayment amount; nothing is re-summed.
+// Repayments do not move User.balance, matching LOAN/BORROW records themselves.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FinanceRepaymentService {
+
+    private final FinanceRepository financeRepository;
+    private final FinanceRepaymentRepository repaymentRepository;
+    private final CounterpartyPositionRepository positionRepository;
+    private final CounterpartyPositionService positionService;
+    private final UserRepository userRepository;
+    private final UserCacheGenerations cacheGenerations;
+
+    private User getUserByUsername(String username) {
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+    }
+
+    @Transactional
+    public RepaymentDto addRepayment(String username, Long financeId, AddRepayment addRepayment) {
+        User user = getUserByUsername(username);
+        Finance finance = getLoanOrBorrow(financeId, user);
+
+        if (financeRepository.addToAmountRepaid(finance.getId(), addRepayment.getAmount()) == 0) {
+            throw new IllegalArgumentException("Repayment exceeds the outstanding amount of "
+                    + finance.getAmount().subtract(finance.getAmountRepaid()));
+        }
+
+        FinanceRepayment repayment = new FinanceRepayment();
+        repayment.setFinanceId(finance.getId());
+        repayment.setUserId(user.getId());
+        repayment.setAmount(addRepayment.getAmount());
+        repayment.setRepaymentDate(addRepayment.getRepaymentDate() != null ? addRepayment.getRepaymentDate() : LocalDate.now());
+        repayment.setNote(addRepayment.getNote());
+        FinanceRepayment saved = repaymentRepository.save(repayment);
+
+        positionService.applyRepayment(user.getId(), finance, addRepayment.getAmount());
+        cacheGenerations.invalidate(username);
+        return toDto(saved);
+    }
+
+    @Transactional(readOnly = true)
+    public List<RepaymentDto> getRepayments(String username, Long financeId) {
+        User user = getUserByUsername(username);
+        Finance finance = getLoanOrBorrow(financeId, user);
+        return repaymentRepository.findByFinanceIdAndUserIdOrderByRepaymentDateAscIdAsc(finance.getId(), user.getId())
+                .stream().map(this::toDto).toList();
+    }
+
+    @Transactional
+    public void deleteRepayment(String username, Long repaymentId) {
+        User user = getUserByUsername(username);
+        FinanceRepayment repayment = repaymentRepository.findByIdAndUserId(repaymentId, user.getId())
+                .orElseThrow(() -> new RuntimeException("Repayment not found or not authorized"));
+        Finance finance = getLoanOrBorrow(repayment.getFinanceId(), user);
+
+        repaymentRepository.delete(repayment);
+        if (financeRepository.addToAmountRepaid(finance.getId(), repayment.getAmount().negate()) == 0) {
+            throw new IllegalStateException("Repaid amount of transaction " + finance.getId() + " is out of step with its repayments");
+        }
+        positionService.applyRepayment(user.getId(), finance, repayment.getAmount().negate());
+        cacheGenerations.invalidate(username);
+    }
+
+    // Outstanding amount per counterparty, read from the maintained positions.
+    // type narrows to LOAN or BORROW; openOnly drops fully repaid counterparties.
+    @Transactional(readOnly = true)
+    public List<CounterpartyPositionDto> getPositions(String username, Finance.TransactionType type, boolean openOnly) {
+        if (type != null && !CounterpartyPositionService.isLoanOrBorrow(type)) {
+            throw new IllegalArgumentException("Positions exist only for LOAN and BORROW transactions");
+        }
+        User user = getUserByUsername(username);
+        return positionRepository.findPositions(user.getId(), type, openOnly);
+    }
+
+    private Finance getLoanOrBorrow(Long financeId, User user) {
+        Finance finance = financeRepository.findByIdAndUser(financeId, user)
+                .orElseThrow(() -> new RuntimeException("Transaction not found or not authorized"));
+        if (!CounterpartyPositionService.isLoanOrBorrow(finance.getTransactionType())) {
+            throw new IllegalArgumentException("Repayments can only be recorded for LOAN or BORROW transactions");
+        }
+        return finance;
+    }
+
+    private RepaymentDto toDto(FinanceRepayment repayment) {
+        return new RepaymentDto(repayment.getId(), repayment.getFinanceId(), repayment.getAmount(),
+                repayment.getRepaymentDate(), repayment.getNote());
+    }
+}
@@ -0,0 +1,36 @@
+package com.arthManager.finance.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Backfills finance_monthly_rollup and finance_category_total for existing data. Enable once after deploying the rollup table:
+// arth.finance.rollup.rebuild-on-startup=true
+@Component
+@ConditionalOnProperty(name = "arth.finance.rollup.rebuild-on-startup", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class FinanceRollupBackfillRunner implements ApplicationRunner {
+
+    private final FinanceRollupService rollupService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<Long> userIds = rollupService.findUserIdsToRebuild();
+        log.info("Rebuilding finance monthly rollups for {} users", userIds.size());
+        for (Long userId : userIds) {
+            try {
+                // Each user is rebuilt in its own transaction to keep locks short
+                rollupService.rebuild(userId);
+            } catch (Exception e) {
+                log.error("Failed to rebuild finance rollup for user {}", userId, e);
+            }
+        }
+        log.info("Finance monthly rollup rebuild finished");
+    }
+}
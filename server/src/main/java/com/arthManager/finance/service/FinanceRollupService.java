@@ -0,0 +1,95 @@
+package com.arthManager.finance.service;
+
+import com.arthManager.finance.model.Finance;
+import com.arthManager.finance.repository.BalanceCheckpointRepository;
+import com.arthManager.finance.repository.FinanceCategoryTotalRepository;
+import com.arthManager.finance.repository.FinanceMonthlyRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Keeps finance_monthly_rollup and finance_category_total in step with the finance table.
+// Callers invoke apply() inside the same transaction as the Finance write.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FinanceRollupService {
+
+    private final FinanceMonthlyRollupRepository rollupRepository;
+    private final FinanceCategoryTotalRepository categoryTotalRepository;
+    private final BalanceCheckpointRepository checkpointRepository;
+    private final FinanceArchiveService archiveService;
+
+    private record BucketKey(String yearMonth, String category, Finance.TransactionType transactionType) {
+    }
+
+    // sign is +1 for records being added and -1 for records being removed
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Long userId, Collection<Finance> records, int sign) {
+        Map<BucketKey, BigDecimal> amounts = new LinkedHashMap<>();
+        Map<BucketKey, Long> counts = new LinkedHashMap<>();
+        for (Finance finance : records) {
+            BucketKey key = new BucketKey(
+                    YearMonth.from(finance.getTransactionDate()).toString(),
+                    finance.getCategory(),
+                    finance.getTransactionType());
+            amounts.merge(key, finance.getAmount(), BigDecimal::add);
+            // A compaction summary row stands for compactedCount transactions
+            counts.merge(key, finance.getCompactedCount() != null ? finance.getCompactedCount().longValue() : 1L, Long::sum);
+        }
+        // One upsert per bucket, so a batch of N rows in the same month/category costs one statement
+        amounts.forEach((key, amount) -> rollupRepository.applyDelta(
+                userId,
+                key.yearMonth(),
+                key.category(),
+                key.transactionType().name(),
+                sign < 0 ? amount.negate() : amount,
+                sign < 0 ? -counts.get(key) : counts.get(key)));
+
+        // Lifetime totals: the month buckets folded per category and type
+        Map<BucketKey, BigDecimal> categoryAmounts = new LinkedHashMap<>();
+        Map<BucketKey, Long> categoryCounts = new LinkedHashMap<>();
+        amounts.forEach((key, amount) -> {
+            BucketKey categoryKey = new BucketKey(null, key.category(), key.transactionType());
+            categoryAmounts.merge(categoryKey, amount, BigDecimal::add);
+            categoryCounts.merge(categoryKey, counts.get(key), Long::sum);
+        });
+        categoryAmounts.forEach((key, amount) -> categoryTotalRepository.applyDelta(
+                userId,
+                key.category(),
+                key.transactionType().name(),
+                sign < 0 ? amount.negate() : amount,
+                sign < 0 ? -categoryCounts.get(key) : categoryCounts.get(key)));
+    }
+
+    // Recomputes a user's rollup and category total rows from the finance table (backfill / repair)
+    @Transactional
+    public void rebuild(Long userId) {
+        rollupRepository.deleteByUserId(userId);
+        rollupRepository.rebuildForUser(userId);
+        categoryTotalRepository.deleteByUserId(userId);
+        categoryTotalRepository.rebuildForUser(userId);
+        archiveService.addToRollups(userId);
+        // Recreated from the rebuilt rollup on the next balance read
+        checkpointRepository.deleteByUserId(userId);
+    }
+
+    public List<Long> findUserIdsToRebuild() {
+        // Users whose rows are all archived still need their rollup rebuilt
+        Set<Long> userIds = new LinkedHashSet<>(rollupRepository.findUserIdsWithFinance());
+        userIds.addAll(archiveService.findUserIds());
+        return new ArrayList<>(userIds);
+    }
+}
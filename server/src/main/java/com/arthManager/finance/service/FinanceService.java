@@ -1,28 +1,59 @@
 package com.arthManager.finance.service;
 
+import com.arthManager.cache.UserCacheGenerations;
+import com.arthManager.cache.UserScopedKeyGenerator;
+import com.arthManager.common.dto.SliceResponse;
+import com.arthManager.finance.budget.service.BudgetService;
 import com.arthManager.finance.dto.AddFinance;
+import com.arthManager.finance.dto.BalancePointDto;
+import com.arthManager.finance.dto.CursorPage;
+import com.arthManager.finance.dto.FinanceAggregate;
+import com.arthManager.finance.dto.FinanceAnalyticsDto;
 import com.arthManager.finance.dto.FinanceDto;
+import com.arthManager.finance.dto.FinanceFilter;
+import com.arthManager.finance.dto.FinanceSummaryDto;
+import com.arthManager.finance.dto.MonthlyRollupDto;
+import com.arthManager.finance.dto.SuggestionDto;
+import com.arthManager.finance.dto.TransactionCursor;
 import com.arthManager.finance.model.Finance;
 import com.arthManager.user.model.User;
+import com.arthManager.finance.repository.FinanceBatchRepository;
+import com.arthManager.finance.repository.FinanceMonthlyRollupRepository;
+import com.arthManager.finance.repository.FinanceRepaymentRepository;
 import com.arthManager.finance.repository.FinanceRepository;
+import com.arthManager.finance.repository.FinanceSpecifications;
 import com.arthManager.user.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -31,83 +62,240 @@ public class FinanceService {
 
     private final FinanceRepository financeRepository;
     private final UserRepository userRepository;
+    private final FinanceRollupService rollupService;
+    private final CounterpartyPositionService positionService;
+    private final BudgetService budgetService;
+    private final BalanceCheckpointService checkpointService;
+    private final RunningBalanceService runningBalanceService;
+    private final FinanceSuggestionService suggestionService;
+    private final FinanceRepaymentRepository repaymentRepository;
+    private final FinanceMonthlyRollupRepository rollupRepository;
+    private final FinanceBatchRepository financeBatchRepository;
+    private final FinanceSummaryService summaryService;
+    private final FinanceArchiveService archiveService;
+    private final CurrencyService currencyService;
+    private final UserCacheGenerations cacheGenerations;
+    private final Validator validator;
+
+    private static final int MAX_BULK_SIZE = 5000;
+    private static final int MAX_DAILY_BALANCE_POINTS = 366;
 
     private User getUserByUsername(String username) {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
     }
 
-    @Cacheable(value = "transactions", key="#username")
-    public Page<FinanceDto> getTransactions(String username, String type, String category, String startDate,
-            String endDate, Pageable pageable) {
-        User user = getUserByUsername(username);
-        Finance.TransactionType transactionType = null;
-        if (type != null && !type.isEmpty()) {
-            try {
-                transactionType = Finance.TransactionType.valueOf(type.toUpperCase());
-            } catch (IllegalArgumentException e) {
-                throw new IllegalArgumentException("Invalid transaction type: " + type);
+    private Long getUserIdByUsername(String username) {
+        return userRepository.findIdByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+    }
+
+    // Sortable properties for ?sort=; anything else is rejected rather than passed to the query
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of(
+            "transactionDate", "amount", "category", "description", "paymentMethod", "counterparty", "dueDate", "id");
+
+    private static final Sort DEFAULT_SORT = Sort.by(Sort.Order.desc("transactionDate"), Sort.Order.desc("id"));
+
+    // List caches are per user and keyed on every argument; writes bump the user's cache generation
+    @Cacheable(value = "transactions", keyGenerator = UserScopedKeyGenerator.NAME)
+    @Transactional(readOnly = true)
+    public Page<FinanceDto> getTransactions(String username, FinanceFilter filter, Pageable pageable) {
+        Long userId = getUserIdByUsername(username);
+        if (archiveService.reaches(userId, filter)) {
+            return archiveService.findPage(userId, filter, withStableSort(pageable));
+        }
+        return financeRepository.findDtoPage(
+                Specification.where(FinanceSpecifications.ownedBy(userId)).and(FinanceSpecifications.matching(filter)),
+                withStableSort(pageable));
+    }
+
+    // Count-free variant of getTransactions for clients that only need next/previous
+    @Cacheable(value = "transactions", keyGenerator = UserScopedKeyGenerator.NAME)
+    @Transactional(readOnly = true)
+    public SliceResponse<FinanceDto> getTransactionSlice(String username, FinanceFilter filter, Pageable pageable) {
+        Long userId = getUserIdByUsername(username);
+        if (archiveService.reaches(userId, filter)) {
+            Pageable stable = withStableSort(pageable);
+            return SliceResponse.of(archiveService.findSlice(userId, filter, null, stable.getSort(), stable), dto -> dto);
+        }
+        return SliceResponse.of(financeRepository.findDtoSlice(
+                Specification.where(FinanceSpecifications.ownedBy(userId)).and(FinanceSpecifications.matching(filter)),
+                withStableSort(pageable)),
+                dto -> dto);
+    }
+
+    // Keyset pagination: constant cost per page regardless of depth, unlike OFFSET paging.
+    // Always ordered by (transactionDate DESC, id DESC), the order the cursor encodes.
+    @Cacheable(value = "transactions", keyGenerator = UserScopedKeyGenerator.NAME)
+    @Transactional(readOnly = true)
+    public CursorPage<FinanceDto> getTransactionsAfter(String username, FinanceFilter filter, String cursor, int size) {
+        Long userId = getUserIdByUsername(username);
+        TransactionCursor after = (cursor != null && !cursor.isEmpty()) ? TransactionCursor.decode(cursor) : null;
+        Slice<FinanceDto> slice;
+        if (archiveService.reaches(userId, filter)) {
+            slice = archiveService.findSlice(userId, filter, after, DEFAULT_SORT, PageRequest.of(0, size));
+        } else {
+            Specification<Finance> spec = Specification.where(FinanceSpecifications.ownedBy(userId))
+                    .and(FinanceSpecifications.matching(filter));
+            if (after != null) {
+                spec = spec.and(FinanceSpecifications.after(after));
             }
+            slice = financeRepository.findDtoSlice(spec, PageRequest.of(0, size, DEFAULT_SORT));
+        }
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            FinanceDto last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            nextCursor = new TransactionCursor(last.getTransactionDate(), last.getId()).encode();
         }
-        LocalDate start = (startDate != null && !startDate.isEmpty()) ? LocalDate.parse(startDate) : null;
-        LocalDate end = (endDate != null && !endDate.isEmpty()) ? LocalDate.parse(endDate) : null;
-        Page<Finance> page = financeRepository.findByUserAndFilters(
-                user, transactionType, category, start, end, pageable);
-        return page.map(this::toDto);
+        return new CursorPage<>(slice.getContent(), size, slice.hasNext(), nextCursor);
     }
 
-    @Cacheable(value = "transaction", key="#username + '_' + #id")
-    public FinanceDto getTransactionById(String username, Long id) {
-        User user = getUserByUsername(username);
-        Finance finance = financeRepository.findByIdAndUser(id, user)
-                .orElseThrow(() -> new RuntimeException("Transaction not found or not authorized"));
-        return toDto(finance);
+    // Applies the client's ?sort= (validated) and always ends with id so equal keys page deterministically
+    private Pageable withStableSort(Pageable pageable) {
+        if (pageable.getSort().isUnsorted()) {
+            return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), DEFAULT_SORT);
+        }
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Cannot sort transactions by: " + order.getProperty());
+            }
+        }
+        Sort sort = pageable.getSort();
+        if (sort.getOrderFor("id") == null) {
+            sort = sort.and(Sort.by(Sort.Order.desc("id")));
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
     }
 
-    @Caching(evict = {
-            @CacheEvict(value = "transactions", key = "#username", allEntries = true),
-            @CacheEvict(value = "transaction", key = "#username + '_' + #id", allEntries = true)
-    })
-    @Transactional
-    public Finance createFinanceRecord(AddFinance addFinance, String username) {
+    private LocalDate parseDate(String date) {
+        return (date != null && !date.isEmpty()) ? LocalDate.parse(date) : null;
+    }
+
+    @Transactional(readOnly = true)
+    public FinanceAnalyticsDto getAnalytics(String username, String startDate, String endDate) {
         User user = getUserByUsername(username);
-        Finance finance = new Finance();
-        finance.setTransactionDate(addFinance.getTransactionDate());
-        finance.setDescription(addFinance.getDescription());
-        finance.setAmount(addFinance.getAmount());
-        finance.setCategory(addFinance.getCategory());
-        finance.setTransactionType(addFinance.getTransactionType());
-        finance.setPaymentMethod(addFinance.getPaymentMethod());
-        finance.setCounterparty(addFinance.getCounterparty() == null || addFinance.getCounterparty().isEmpty() ? "Self"
-                : addFinance.getCounterparty());
+        LocalDate start = parseDate(startDate);
+        LocalDate end = parseDate(endDate);
+        if (start != null && end != null && start.isAfter(end)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
 
-        // Set dueStatus for LOAN/BORROW
-        if (addFinance.getDueStatus() == null) {
-            if (addFinance.getTransactionType() == Finance.TransactionType.LOAN ||
-                    addFinance.getTransactionType() == Finance.TransactionType.BORROW) {
-                finance.setDueStatus(Finance.DueStatus.UNPAID);
-            }
+        FinanceAnalyticsDto analytics = new FinanceAnalyticsDto();
+        analytics.setStartDate(start);
+        analytics.setEndDate(end);
+        if (isMonthAligned(start, end)) {
+            // Whole months: read the maintained rollup instead of scanning the finance rows
+            String from = start != null ? YearMonth.from(start).toString() : null;
+            String to = end != null ? YearMonth.from(end).toString() : null;
+            analytics.setByCategory(rollupRepository.sumByCategory(user.getId(), from, to));
+            analytics.setByMonth(rollupRepository.sumByMonth(user.getId(), from, to));
         } else {
-            finance.setDueStatus(addFinance.getDueStatus());
+            // The rollup already covers archived rows; the finance scans add them only when the range reaches the archive
+            analytics.setByCategory(FinanceArchiveService.merge(financeRepository.sumByCategory(user, start, end),
+                    archiveService.sumByCategory(user.getId(), start, end)));
+            List<FinanceAggregate> byMonth = FinanceArchiveService.merge(financeRepository.sumByMonth(user, start, end),
+                    archiveService.sumByMonth(user.getId(), start, end));
+            byMonth.sort(Comparator.comparing(FinanceAggregate::getKey));
+            analytics.setByMonth(byMonth);
         }
+        analytics.setByPaymentMethod(FinanceArchiveService.merge(financeRepository.sumByPaymentMethod(user, start, end),
+                archiveService.sumByPaymentMethod(user.getId(), start, end)));
 
-        // When creating Finance from AddFinance:
-        finance.setDueDate(addFinance.getDueDate());
-        finance.setClientDescription(addFinance.getClientDescription());
-        finance.setEmailReminder(addFinance.getEmailReminder());
+        // Per-type totals are folded from the category groups (already one row per category/type)
+        Map<Finance.TransactionType, BigDecimal> totalsByType = new EnumMap<>(Finance.TransactionType.class);
+        for (Finance.TransactionType type : Finance.TransactionType.values()) {
+            totalsByType.put(type, BigDecimal.ZERO);
+        }
+        for (FinanceAggregate aggregate : analytics.getByCategory()) {
+            totalsByType.merge(aggregate.getTransactionType(), aggregate.getTotal(), BigDecimal::add);
+        }
+        analytics.setTotalsByType(totalsByType);
+        return analytics;
+    }
 
-        finance.setUser(user);
+    @Transactional(readOnly = true)
+    public List<MonthlyRollupDto> getMonthlyRollups(String username, String fromMonth, String toMonth) {
+        User user = getUserByUsername(username);
+        String from = (fromMonth != null && !fromMonth.isEmpty()) ? YearMonth.parse(fromMonth).toString() : null;
+        String to = (toMonth != null && !toMonth.isEmpty()) ? YearMonth.parse(toMonth).toString() : null;
+        return rollupRepository.findRollups(user.getId(), from, to);
+    }
+
+    // Balance at the end of `date` (default today), from the nearest checkpoint plus at most a month of rows
+    public BalancePointDto getBalanceAt(String username, String date) {
+        User user = getUserByUsername(username);
+        LocalDate today = LocalDate.now();
+        LocalDate at = (date != null && !date.isEmpty()) ? LocalDate.parse(date) : today;
+        if (at.isAfter(today)) {
+            at = today;
+        }
+        ensureCheckpoints(user.getId(), YearMonth.from(at).minusMonths(1));
+        return runningBalanceService.balanceAt(user.getId(), at);
+    }
 
-        // Update user balance
-        BigDecimal currentBalance = user.getBalance() != null ? user.getBalance() : BigDecimal.ZERO;
-        if (addFinance.getTransactionType() == Finance.TransactionType.EXPENSE) {
-            currentBalance = currentBalance.subtract(addFinance.getAmount());
-        } else if (addFinance.getTransactionType() == Finance.TransactionType.INCOME) {
-            currentBalance = currentBalance.add(addFinance.getAmount());
+    // interval=DAY returns one point per day (at most MAX_DAILY_BALANCE_POINTS), MONTH one per month end
+    public List<BalancePointDto> getBalanceHistory(String username, String fromDate, String toDate, String interval) {
+        User user = getUserByUsername(username);
+        boolean monthly = interval != null && interval.equalsIgnoreCase("MONTH");
+        if (!monthly && interval != null && !interval.equalsIgnoreCase("DAY")) {
+            throw new IllegalArgumentException("interval must be DAY or MONTH");
+        }
+        LocalDate today = LocalDate.now();
+        LocalDate to = (toDate != null && !toDate.isEmpty()) ? LocalDate.parse(toDate) : today;
+        if (to.isAfter(today)) {
+            to = today;
         }
-        // Do NOT update balance for LOAN or BORROW here
-        user.setBalance(currentBalance);
-        finance.setBalance(currentBalance);
+        LocalDate from = (fromDate != null && !fromDate.isEmpty()) ? LocalDate.parse(fromDate)
+                : monthly ? to.minusMonths(11).withDayOfMonth(1) : to.minusDays(29);
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+
+        if (monthly) {
+            ensureCheckpoints(user.getId(), YearMonth.from(to));
+            return runningBalanceService.monthlyHistory(user.getId(), YearMonth.from(from), YearMonth.from(to), today);
+        }
+        if (from.plusDays(MAX_DAILY_BALANCE_POINTS).isBefore(to.plusDays(1))) {
+            throw new IllegalArgumentException("Daily balance history is limited to " + MAX_DAILY_BALANCE_POINTS + " days");
+        }
+        ensureCheckpoints(user.getId(), YearMonth.from(from.minusDays(1)).minusMonths(1));
+        return runningBalanceService.dailyHistory(user.getId(), from, to);
+    }
+
+    // field is category, paymentMethod or counterparty; an empty prefix returns the most used values
+    public List<SuggestionDto> getSuggestions(String username, String field, String prefix, int limit) {
+        User user = getUserByUsername(username);
+        return suggestionService.suggest(user.getId(), FinanceSuggestionIndex.Field.from(field), prefix, limit);
+    }
+
+    // Checkpoints are created lazily; the write lock is only taken when some are missing
+    private void ensureCheckpoints(Long userId, YearMonth month) {
+        YearMonth through = checkpointService.checkpointLimit(month);
+        if (!checkpointService.isBuiltThrough(userId, through)) {
+            checkpointService.ensureCheckpoints(userId, through);
+        }
+    }
+
+    private boolean isMonthAligned(LocalDate start, LocalDate end) {
+        return (start == null || start.getDayOfMonth() == 1)
+                && (end == null || end.equals(YearMonth.from(end).atEndOfMonth()));
+    }
+
+    @Cacheable(value = "transaction", keyGenerator = UserScopedKeyGenerator.NAME)
+    public FinanceDto getTransactionById(String username, Long id) {
+        Long userId = getUserIdByUsername(username);
+        return financeRepository.findDtoByIdAndUserId(id, userId)
+                .or(() -> archiveService.findById(userId, id))
+                .orElseThrow(() -> new RuntimeException("Transaction not found or not authorized"));
+    }
+
+    @Transactional
+    public Finance createFinanceRecord(AddFinance addFinance, String username) {
+        User user = getUserByUsername(username);
+        Finance finance = new Finance();
+        applyFields(finance, addFinance, user);
+
+        finance.setUser(user);
 
         // Validate due status for LOAN/BORROW
         if ((addFinance.getTransactionType() == Finance.TransactionType.LOAN ||
@@ -116,23 +304,182 @@ public class FinanceService {
             throw new IllegalArgumentException("Due status is required for Loan or Borrow transactions.");
         }
 
-        return financeRepository.save(finance);
+        // Update user balance (LOAN and BORROW do not move it)
+        finance.setBalance(adjustBalance(user, balanceEffect(finance.getTransactionType(), finance.getAmount())));
+
+        Finance saved = financeRepository.save(finance);
+        applyDerived(user, List.of(saved), 1);
+        return saved;
     }
 
 
-    @Caching(evict = {
-            @CacheEvict(value = "transactions", key = "#username", allEntries = true),
-            @CacheEvict(value = "transaction", key = "#username + '_' + #id", allEntries = true)
-    })
+    @Transactional
     public FinanceDto updateFinanceRecord(Long id, AddFinance addFinance, String username) {
         User user = getUserByUsername(username);
         Finance finance = financeRepository.findByIdAndUser(id, user)
                 .orElseThrow(() -> new RuntimeException("Transaction not found or not authorized"));
+        if (finance.getCompactedCount() != null) {
+            throw new IllegalArgumentException("Compacted summary transactions cannot be edited");
+        }
+        Finance previous = snapshot(finance);
 
         // Update fields
+        applyFields(finance, addFinance, user);
+
+        // Recorded repayments must still fit the (possibly edited) loan/borrow, and they own the due status
+        if (previous.getAmountRepaid().signum() > 0) {
+            if (finance.getTransactionType() != previous.getTransactionType()) {
+                throw new IllegalArgumentException("Cannot change the type of a transaction with recorded repayments");
+            }
+            if (finance.getAmount().compareTo(previous.getAmountRepaid()) < 0) {
+                throw new IllegalArgumentException("Amount cannot be less than the amount already repaid ("
+                        + previous.getAmountRepaid() + ")");
+            }
+            finance.setDueStatus(repaidDueStatus(previous.getAmountRepaid(), finance.getAmount()));
+        } else if ((addFinance.getTransactionType() == Finance.TransactionType.LOAN ||
+                addFinance.getTransactionType() == Finance.TransactionType.BORROW) &&
+                addFinance.getDueStatus() == null) {
+            throw new IllegalArgumentException("Due status is required for Loan or Borrow transactions.");
+        }
+
+        // A new due date or status restarts overdue detection and reminders for the record
+        if (!Objects.equals(finance.getDueDate(), previous.getDueDate())
+                || finance.getDueStatus() != previous.getDueStatus()) {
+            finance.setOverdue(false);
+            finance.setLastReminderDate(null);
+        }
+
+        // Update user balance by the difference between the new and the old effect
+        BigDecimal delta = balanceEffect(finance.getTransactionType(), finance.getAmount())
+                .subtract(balanceEffect(previous.getTransactionType(), previous.getAmount()));
+        finance.setBalance(adjustBalance(user, delta));
+
+        Finance saved = financeRepository.save(finance);
+        applyDerived(user, List.of(previous), -1);
+        applyDerived(user, List.of(saved), 1);
+        return toDto(saved);
+    }
+
+
+    @Transactional
+    public void deleteFinanceRecord(Long id, String username) {
+        User user = getUserByUsername(username);
+        Finance finance = financeRepository.findByIdAndUser(id, user)
+                .orElseThrow(() -> new RuntimeException("Transaction not found or not authorized"));
+
+        // Update user balance: undo exactly the effect the record had when it was created
+        adjustBalance(user, balanceEffect(finance.getTransactionType(), finance.getAmount()).negate());
+
+        repaymentRepository.deleteByFinanceId(finance.getId());
+        financeRepository.delete(finance);
+        applyDerived(user, List.of(finance), -1);
+    }
+
+    // Bulk import: validates every item, inserts with JDBC batches and applies a single balance update
+    @Transactional
+    public int createFinanceRecords(List<AddFinance> items, String username) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("At least one finance record is required");
+        }
+        if (items.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " finance records can be created at once");
+        }
+        validateAll(items);
+
+        User user = getUserByUsername(username);
+        LocalDateTime now = LocalDateTime.now();
+        List<Finance> records = new ArrayList<>(items.size());
+        for (AddFinance addFinance : items) {
+            Finance finance = new Finance();
+            applyFields(finance, addFinance, user);
+            finance.setUser(user);
+            finance.setCreatedAt(now);
+            records.add(finance);
+        }
+
+        insertBatch(Map.of(user.getId(), records));
+        return records.size();
+    }
+
+    // Inserts new records of one or more users with a single JDBC batch. Runs in the caller's transaction;
+    // each user's balance moves by one aggregated increment instead of a read-modify-write per row.
+    public void insertBatch(Map<Long, List<Finance>> recordsByUser) {
+        List<Finance> all = new ArrayList<>();
+        recordsByUser.forEach((userId, records) -> {
+            User user = records.get(0).getUser();
+            BigDecimal totalDelta = BigDecimal.ZERO;
+            for (Finance finance : records) {
+                totalDelta = totalDelta.add(balanceEffect(finance.getTransactionType(), finance.getAmount()));
+            }
+            BigDecimal running = adjustBalance(user, totalDelta).subtract(totalDelta);
+            for (Finance finance : records) {
+                running = running.add(balanceEffect(finance.getTransactionType(), finance.getAmount()));
+                finance.setBalance(running);
+            }
+            all.addAll(records);
+        });
+
+        financeBatchRepository.insertAll(all);
+        recordsByUser.values().forEach(records -> applyDerived(records.get(0).getUser(), records, 1));
+    }
+
+    private void validateAll(List<AddFinance> items) {
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            AddFinance item = items.get(i);
+            if (item == null) {
+                errors.add("[" + i + "]: record is required");
+                continue;
+            }
+            for (ConstraintViolation<AddFinance> violation : validator.validate(item)) {
+                errors.add("[" + i + "]." + violation.getPropertyPath() + ": " + violation.getMessage());
+            }
+            if ((item.getTransactionType() == Finance.TransactionType.LOAN ||
+                    item.getTransactionType() == Finance.TransactionType.BORROW) &&
+                    item.getDueStatus() == null) {
+                errors.add("[" + i + "].dueStatus: Due status is required for Loan or Borrow transactions.");
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException("Invalid finance records: " + String.join("; ", errors));
+        }
+    }
+
+    // Atomically adds delta to User.balance in the database and returns the resulting balance.
+    // The UPDATE holds the user's row lock until commit, so the read-back cannot see another
+    // writer's uncommitted change and no update is lost (unlike read-modify-write in Java).
+    private BigDecimal adjustBalance(User user, BigDecimal delta) {
+        if (delta.signum() != 0) {
+            userRepository.addToBalance(user.getId(), delta);
+        }
+        return userRepository.findBalanceById(user.getId());
+    }
+
+    // Same derivation as FinanceRepository.addToAmountRepaid, for a record whose repayments are already recorded
+    private Finance.DueStatus repaidDueStatus(BigDecimal amountRepaid, BigDecimal amount) {
+        if (amountRepaid.compareTo(amount) >= 0) {
+            return Finance.DueStatus.PAID;
+        }
+        return amountRepaid.signum() > 0 ? Finance.DueStatus.PARTIALLY_PAID : Finance.DueStatus.UNPAID;
+    }
+
+    // Effect of a transaction on User.balance: LOAN and BORROW do not move the balance
+    private BigDecimal balanceEffect(Finance.TransactionType type, BigDecimal amount) {
+        if (type == Finance.TransactionType.INCOME) {
+            return amount;
+        } else if (type == Finance.TransactionType.EXPENSE) {
+            return amount.negate();
+        }
+        return BigDecimal.ZERO;
+    }
+
+    // Copies the client-editable fields; shared by create, update and bulk create
+    private void applyFields(Finance finance, AddFinance addFinance, User user) {
         finance.setTransactionDate(addFinance.getTransactionDate());
         finance.setDescription(addFinance.getDescription());
-        finance.setAmount(addFinance.getAmount());
+        // An edit that omits the currency keeps the record's own (null = base currency)
+        applyAmount(finance, addFinance.getCurrency() != null ? addFinance.getCurrency() : finance.getCurrency(),
+                addFinance.getAmount(), user);
         finance.setCategory(addFinance.getCategory());
         finance.setTransactionType(addFinance.getTransactionType());
         finance.setPaymentMethod(addFinance.getPaymentMethod());
@@ -149,47 +496,87 @@ public class FinanceService {
             finance.setDueStatus(addFinance.getDueStatus());
         }
 
-        // When updating Finance from AddFinance:
         finance.setDueDate(addFinance.getDueDate());
         finance.setClientDescription(addFinance.getClientDescription());
         finance.setEmailReminder(addFinance.getEmailReminder());
+    }
 
-        // Update user balance
-        BigDecimal currentBalance = user.getBalance() != null ? user.getBalance() : BigDecimal.ZERO;
-        if (addFinance.getTransactionType() == Finance.TransactionType.EXPENSE) {
-            currentBalance = currentBalance.subtract(finance.getAmount()).add(addFinance.getAmount());
-        } else if (addFinance.getTransactionType() == Finance.TransactionType.INCOME) {
-            currentBalance = currentBalance.add(addFinance.getAmount()).subtract(finance.getAmount());
+    // Stores an amount entered in `currency` (null = base currency): amount is converted at the transaction
+    // date's rate; currency and originalAmount are only kept for foreign currencies and stay null otherwise.
+    // Without a rate for the date the amount is booked as entered in the base currency (see missingRateNotice).
+    private void applyAmount(Finance finance, String currency, BigDecimal entered, User user) {
+        String base = currencyService.baseCurrency(user);
+        String code = currency != null ? currencyService.normalize(currency) : base;
+        Optional<BigDecimal> converted = currencyService.tryConvert(entered, code, base, finance.getTransactionDate());
+        if (code.equals(base) || converted.isEmpty()) {
+            if (!code.equals(base)) {
+                log.warn("No {} rate on or before {}; booking {} in the base currency {}",
+                        code, finance.getTransactionDate(), entered, base);
+            }
+            finance.setCurrency(null);
+            finance.setOriginalAmount(null);
+            finance.setAmount(entered);
+            return;
         }
-        user.setBalance(currentBalance);
-        finance.setBalance(currentBalance);
-
-        return toDto(financeRepository.save(finance));
+        finance.setCurrency(code);
+        finance.setOriginalAmount(entered);
+        finance.setAmount(converted.get());
     }
 
+    // Message for a record entered in `currency` that was booked in the base currency because no rate
+    // existed for its date; null when the record was converted or entered in the base currency
+    public String missingRateNotice(String currency, Finance saved) {
+        String base = currencyService.baseCurrency(saved.getUser());
+        if (currency == null || saved.getCurrency() != null || currencyService.normalize(currency).equals(base)) {
+            return null;
+        }
+        return "No exchange rate for " + currencyService.normalize(currency) + " on or before "
+                + saved.getTransactionDate() + ", so the amount was recorded as " + saved.getAmount() + " " + base;
+    }
 
-    @Caching(evict = {
-            @CacheEvict(value = "transactions", key = "#username", allEntries = true),
-            @CacheEvict(value = "transaction", key = "#username + '_' + #id", allEntries = true)
-    })
-    @Transactional
-    public void deleteFinanceRecord(Long id, String username) {
-        User user = getUserByUsername(username);
-        Finance finance = financeRepository.findByIdAndUser(id, user)
-                .orElseThrow(() -> new RuntimeException("Transaction not found or not authorized"));
+    // Keeps every structure derived from the finance rows in step with a write.
+    // Runs inside the caller's transaction; sign is +1 for added rows and -1 for removed rows.
+    private void applyDerived(User user, List<Finance> records, int sign) {
+        rollupService.apply(user.getId(), records, sign);
+        positionService.apply(user.getId(), records, sign);
+        budgetService.apply(user, records, sign);
+        checkpointService.apply(user.getId(), records, sign);
+        suggestionService.apply(user.getId(), records, sign);
+        evictSummaryAfterCommit(user.getId());
+        cacheGenerations.invalidate(user.getUsername());
+    }
 
-        // Update user balance
-        BigDecimal currentBalance = user.getBalance() != null ? user.getBalance() : BigDecimal.ZERO;
-        if (finance.getTransactionType() == Finance.TransactionType.EXPENSE ||
-                finance.getTransactionType() == Finance.TransactionType.LOAN ||
-                finance.getTransactionType() == Finance.TransactionType.BORROW) {
-            currentBalance = currentBalance.add(finance.getAmount());
-        } else if (finance.getTransactionType() == Finance.TransactionType.INCOME) {
-            currentBalance = currentBalance.subtract(finance.getAmount());
+    // Evicting only after commit stops a concurrent reader from re-caching the pre-write totals
+    private void evictSummaryAfterCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            summaryService.evict(userId);
+            return;
         }
-        user.setBalance(currentBalance);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                summaryService.evict(userId);
+            }
+        });
+    }
 
-        financeRepository.delete(finance);
+    // Copy of the fields the derived structures key on, taken before an update mutates the entity
+    private Finance snapshot(Finance finance) {
+        Finance copy = new Finance();
+        copy.setId(finance.getId());
+        copy.setUser(finance.getUser());
+        copy.setTransactionDate(finance.getTransactionDate());
+        copy.setDescription(finance.getDescription());
+        copy.setAmount(finance.getAmount());
+        copy.setCategory(finance.getCategory());
+        copy.setTransactionType(finance.getTransactionType());
+        copy.setPaymentMethod(finance.getPaymentMethod());
+        copy.setCounterparty(finance.getCounterparty());
+        copy.setDueStatus(finance.getDueStatus());
+        copy.setDueDate(finance.getDueDate());
+        copy.setEmailReminder(finance.getEmailReminder());
+        copy.setAmountRepaid(finance.getAmountRepaid());
+        return copy;
     }
 
     private FinanceDto toDto(Finance finance) {
@@ -202,11 +589,15 @@ public class FinanceService {
         dto.setCounterparty(finance.getCounterparty());
         dto.setTransactionDate(finance.getTransactionDate());
         dto.setAmount(finance.getAmount());
+        dto.setCurrency(finance.getCurrency());
+        dto.setOriginalAmount(finance.getOriginalAmount());
         dto.setDueStatus(finance.getDueStatus());
         // When mapping to DTO:
         dto.setDueDate(finance.getDueDate());
         dto.setClientDescription(finance.getClientDescription());
         dto.setEmailReminder(finance.getEmailReminder());
+        dto.setAmountRepaid(finance.getAmountRepaid());
+        dto.setOverdue(Boolean.TRUE.equals(finance.getOverdue()) && finance.getDueStatus() != Finance.DueStatus.PAID);
         return dto;
     }
 
@@ -223,9 +614,24 @@ public class FinanceService {
         }
     }
 
+    // Creates a record built by the caller (e.g. the chatbot). Edits must go through updateFinanceRecord,
+    // which knows the previous values the balance and the derived structures have to be moved from.
+    @Transactional
     public Finance save(Finance finance) {
+        if (finance.getId() != null) {
+            throw new IllegalArgumentException("save() only creates records; use updateFinanceRecord to edit record "
+                    + finance.getId());
+        }
         try {
-            return financeRepository.save(finance);
+            // Callers may set a foreign currency (e.g. the chatbot for dollar amounts); amount is then converted
+            if (finance.getCurrency() != null && finance.getOriginalAmount() == null) {
+                applyAmount(finance, finance.getCurrency(), finance.getAmount(), finance.getUser());
+            }
+            finance.setBalance(adjustBalance(finance.getUser(),
+                    balanceEffect(finance.getTransactionType(), finance.getAmount())));
+            Finance saved = financeRepository.save(finance);
+            applyDerived(saved.getUser(), List.of(saved), 1);
+            return saved;
         } catch (Exception e) {
             log.error("Error saving finance record: ", e);
             throw new RuntimeException("Failed to save finance record", e);
@@ -233,9 +639,10 @@ public class FinanceService {
     }
 
     public BigDecimal getNetBalance(User user) {
-        BigDecimal balance = user.getBalance() != null ? user.getBalance() : BigDecimal.ZERO;
-        BigDecimal loansGiven = financeRepository.sumAmountByUserAndType(user, Finance.TransactionType.LOAN);
-        BigDecimal borrowsTaken = financeRepository.sumAmountByUserAndType(user, Finance.TransactionType.BORROW);
-        return balance.add(loansGiven).subtract(borrowsTaken);
+        return summaryService.getSummary(user.getId()).getNetBalance();
+    }
+
+    public FinanceSummaryDto getSummary(String username) {
+        return summaryService.getSummary(getUserByUsername(username).getId());
     }
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.arthManager.finance.service;
+
+import com.arthManager.finance.dto.SuggestionDto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// In-memory prefix index of one user's categories, payment methods and counterparties. Terms are kept
+// sorted by their lower-cased form, so a prefix lookup is a range of the skip list; ranking is by use count.
+public class FinanceSuggestionIndex {
+
+    public enum Field {
+        CATEGORY, PAYMENT_METHOD, COUNTERPARTY;
+
+        public static Field from(String value) {
+            String normalized = value.trim().replace("-", "").replace("_", "").toUpperCase(Locale.ROOT);
+            for (Field field : values()) {
+                if (field.name().replace("_", "").equals(normalized)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported suggestion field: " + value);
+        }
+    }
+
+    // value keeps the casing it was first seen with
+    private record Term(String value, long count) {
+    }
+
+    private final Map<Field, ConcurrentSkipListMap<String, Term>> terms = new EnumMap<>(Field.class);
+
+    public FinanceSuggestionIndex() {
+        for (Field field : Field.values()) {
+            terms.put(field, new ConcurrentSkipListMap<>());
+        }
+    }
+
+    // Adds (or, with a negative delta, removes) uses of a value; a term disappears when its count reaches 0
+    public void add(Field field, String value, long delta) {
+        if (value == null || value.isBlank() || delta == 0) {
+            return;
+        }
+        String display = value.trim();
+        terms.get(field).compute(display.toLowerCase(Locale.ROOT), (key, term) -> {
+            long count = (term != null ? term.count() : 0) + delta;
+            return count > 0 ? new Term(term != null ? term.value() : display, count) : null;
+        });
+    }
+
+    public List<SuggestionDto> suggest(Field field, String prefix, int limit) {
+        String key = prefix == null ? "" : prefix.trim().toLowerCase(Locale.ROOT);
+        ConcurrentNavigableMap<String, Term> matches = key.isEmpty()
+                ? terms.get(field)
+                : terms.get(field).subMap(key, true, key + Character.MAX_VALUE, true);
+        List<Term> candidates = new ArrayList<>(matches.values());
+        candidates.sort(Comparator.comparingLong(Term::count).reversed().thenComparing(Term::value));
+        List<SuggestionDto> suggestions = new ArrayList<>(Math.min(limit, candidates.size()));
+        for (int i = 0; i < candidates.size() && i < limit; i++) {
+            suggestions.add(new SuggestionDto(candidates.get(i).value(), candidates.get(i).count()));
+        }
+        return suggestions;
+    }
+
+    // Number of distinct terms; the cache weight of the index
+    public int size() {
+        int size = 0;
+        for (ConcurrentSkipListMap<String, Term> fieldTerms : terms.values()) {
+            size += fieldTerms.size();
+        }
+        return size;
+    }
+}
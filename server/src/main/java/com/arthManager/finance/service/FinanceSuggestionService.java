@@ -0,0 +1,94 @@
+package com.arthManager.finance.service;
+
+import com.arthManager.finance.dto.FinanceAggregate;
+import com.arthManager.finance.dto.SuggestionDto;
+import com.arthManager.finance.model.Finance;
+import com.arthManager.finance.model.FinanceCategoryTotal;
+import com.arthManager.finance.repository.FinanceCategoryTotalRepository;
+import com.arthManager.finance.repository.FinanceRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+// Typeahead for categories, payment methods and counterparties. Each user's FinanceSuggestionIndex is
+// built on first use and then kept current by finance writes instead of a LIKE 'x%' query per keystroke.
+@Service
+@RequiredArgsConstructor
+public class FinanceSuggestionService {
+
+    public static final String CACHE_NAME = "financeSuggestions";
+
+    private static final int MAX_LIMIT = 50;
+
+    private final FinanceRepository financeRepository;
+    private final FinanceCategoryTotalRepository categoryTotalRepository;
+    private final FinanceArchiveService archiveService;
+    private final CacheManager cacheManager;
+
+    public List<SuggestionDto> suggest(Long userId, FinanceSuggestionIndex.Field field, String prefix, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return ((FinanceSuggestionIndex) indexes().get(userId, this::build)).suggest(field, prefix, limit);
+    }
+
+    // Applies a finance write to the user's index once the transaction commits; users without a loaded
+    // index are skipped, their index is read from the committed rows when first needed. A write that
+    // commits while the index is being built can be counted twice, which only nudges the ranking until
+    // the entry expires.
+    public void apply(Long userId, Collection<Finance> records, int sign) {
+        Runnable update = () -> indexes().asMap().computeIfPresent(userId, (id, value) -> {
+            FinanceSuggestionIndex index = (FinanceSuggestionIndex) value;
+            for (Finance finance : records) {
+                index.add(FinanceSuggestionIndex.Field.CATEGORY, finance.getCategory(), sign);
+                index.add(FinanceSuggestionIndex.Field.PAYMENT_METHOD, finance.getPaymentMethod(), sign);
+                index.add(FinanceSuggestionIndex.Field.COUNTERPARTY, finance.getCounterparty(), sign);
+            }
+            return index;
+        });
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    // Drops the user's index after rows changed outside the finance write path (archive and compaction
+    // passes); the next suggest() rebuilds it from the committed rows
+    public void evict(Long userId) {
+        indexes().invalidate(userId);
+    }
+
+    private FinanceSuggestionIndex build(Object userId) {
+        Long id = (Long) userId;
+        FinanceSuggestionIndex index = new FinanceSuggestionIndex();
+        for (FinanceCategoryTotal total : categoryTotalRepository.findByUserId(id)) {
+            index.add(FinanceSuggestionIndex.Field.CATEGORY, total.getCategory(), total.getTxnCount());
+        }
+        for (FinanceAggregate aggregate : FinanceArchiveService.merge(
+                financeRepository.countByPaymentMethod(id), archiveService.countByPaymentMethod(id))) {
+            index.add(FinanceSuggestionIndex.Field.PAYMENT_METHOD, aggregate.getKey(), aggregate.getCount());
+        }
+        for (FinanceAggregate aggregate : FinanceArchiveService.merge(
+                financeRepository.countByCounterparty(id), archiveService.countByCounterparty(id))) {
+            index.add(FinanceSuggestionIndex.Field.COUNTERPARTY, aggregate.getKey(), aggregate.getCount());
+        }
+        return index;
+    }
+
+    private Cache<Object, Object> indexes() {
+        return ((CaffeineCache) cacheManager.getCache(CACHE_NAME)).getNativeCache();
+    }
+}
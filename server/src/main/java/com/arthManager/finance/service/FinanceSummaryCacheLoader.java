@@ -0,0 +1,23 @@
+package com.arthManager.finance.service;
+
+import com.arthManager.cache.RefreshingCacheLoader;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+// Lets the financeSummary cache refresh entries (keyed by user id) after write
+@Component
+@RequiredArgsConstructor
+public class FinanceSummaryCacheLoader implements RefreshingCacheLoader {
+
+    private final FinanceSummaryService summaryService;
+
+    @Override
+    public String cacheName() {
+        return FinanceSummaryService.CACHE_NAME;
+    }
+
+    @Override
+    public Object load(Object key) {
+        return summaryService.computeSummary((Long) key);
+    }
+}
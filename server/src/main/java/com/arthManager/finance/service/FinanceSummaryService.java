@@ -0,0 +1,56 @@
+package com.arthManager.finance.service;
+
+import com.arthManager.finance.dto.FinanceSummaryDto;
+import com.arthManager.finance.dto.FinanceTotals;
+import com.arthManager.finance.repository.FinanceArchiveRepository;
+import com.arthManager.finance.repository.FinanceRepository;
+import com.arthManager.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+
+// Per-user financial summary. Computed with one aggregate query and cached until the next finance write.
+@Service
+@RequiredArgsConstructor
+public class FinanceSummaryService {
+
+    public static final String CACHE_NAME = "financeSummary";
+
+    private final FinanceRepository financeRepository;
+    private final UserRepository userRepository;
+    private final FinanceArchiveService archiveService;
+
+    @Cacheable(value = CACHE_NAME, key = "#userId")
+    public FinanceSummaryDto getSummary(Long userId) {
+        return computeSummary(userId);
+    }
+
+    // Uncached computation; also used by the cache loader to refresh entries in the background
+    public FinanceSummaryDto computeSummary(Long userId) {
+        FinanceTotals totals = financeRepository.sumTotalsByUser(userId);
+        FinanceArchiveRepository.ArchivedTotals archived = archiveService.sumTotals(userId);
+        BigDecimal balance = userRepository.findBalanceById(userId);
+        BigDecimal loan = orZero(totals.getLoan());
+        BigDecimal borrow = orZero(totals.getBorrow());
+        return new FinanceSummaryDto(
+                balance,
+                orZero(totals.getIncome()).add(archived.income()),
+                orZero(totals.getExpense()).add(archived.expense()),
+                loan,
+                borrow,
+                balance.add(loan).subtract(borrow),
+                (totals.getTransactionCount() != null ? totals.getTransactionCount() : 0L) + archived.transactionCount());
+    }
+
+    @CacheEvict(value = CACHE_NAME, key = "#userId")
+    public void evict(Long userId) {
+        // Annotation-driven eviction only
+    }
+
+    private BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
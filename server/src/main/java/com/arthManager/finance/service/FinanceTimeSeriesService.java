@@ -0,0 +1,132 @@
+package com.arthManager.finance.service;
+
+import com.arthManager.finance.dto.FinanceAggregate;
+import com.arthManager.finance.dto.TimeSeriesPointDto;
+import com.arthManager.finance.model.Finance;
+import com.arthManager.finance.repository.FinanceMonthlyRollupRepository;
+import com.arthManager.finance.repository.FinanceRepository;
+import com.arthManager.user.model.User;
+import com.arthManager.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Income / expense / net per day, week (Monday-based) or month. One GROUP BY over the user's date range;
+// empty buckets are filled with zeros, so the response size is the number of buckets.
+@Service
+@RequiredArgsConstructor
+public class FinanceTimeSeriesService {
+
+    public enum Interval {
+        DAY, WEEK, MONTH;
+
+        public static Interval from(String value) {
+            try {
+                return Interval.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("interval must be DAY, WEEK or MONTH");
+            }
+        }
+
+        LocalDate bucketStart(LocalDate date) {
+            return switch (this) {
+                case DAY -> date;
+                case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> date.withDayOfMonth(1);
+            };
+        }
+
+        LocalDate next(LocalDate bucketStart) {
+            return switch (this) {
+                case DAY -> bucketStart.plusDays(1);
+                case WEEK -> bucketStart.plusWeeks(1);
+                case MONTH -> bucketStart.plusMonths(1);
+            };
+        }
+    }
+
+    private static final int MAX_BUCKETS = 1000;
+
+    private final FinanceRepository financeRepository;
+    private final FinanceMonthlyRollupRepository rollupRepository;
+    private final UserRepository userRepository;
+    private final FinanceArchiveService archiveService;
+
+    // from/to are YYYY-MM-DD; by default the last 30 days, 12 weeks or 12 months up to today
+    @Transactional(readOnly = true)
+    public List<TimeSeriesPointDto> getTimeSeries(String username, String fromDate, String toDate, String intervalName) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        Interval interval = Interval.from(intervalName);
+        LocalDate to = (toDate != null && !toDate.isEmpty()) ? LocalDate.parse(toDate) : LocalDate.now();
+        LocalDate from = (fromDate != null && !fromDate.isEmpty()) ? LocalDate.parse(fromDate) : switch (interval) {
+            case DAY -> to.minusDays(29);
+            case WEEK -> to.minusWeeks(11);
+            case MONTH -> to.minusMonths(11).withDayOfMonth(1);
+        };
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        long buckets = switch (interval) {
+            case DAY -> ChronoUnit.DAYS.between(from, to) + 1;
+            case WEEK -> ChronoUnit.WEEKS.between(interval.bucketStart(from), interval.bucketStart(to)) + 1;
+            case MONTH -> ChronoUnit.MONTHS.between(YearMonth.from(from), YearMonth.from(to)) + 1;
+        };
+        if (buckets > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Time series is limited to " + MAX_BUCKETS + " buckets; use a coarser interval");
+        }
+        // The first bucket is labelled with its start, so it must also sum from there rather than from mid-week/month
+        from = interval.bucketStart(from);
+
+        // Zero-filled buckets in order, then the grouped rows are added into them
+        Map<LocalDate, TimeSeriesPointDto> series = new LinkedHashMap<>();
+        for (LocalDate bucket = interval.bucketStart(from); !bucket.isAfter(to); bucket = interval.next(bucket)) {
+            series.put(bucket, new TimeSeriesPointDto(bucket, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO));
+        }
+        if (interval == Interval.MONTH) {
+            for (FinanceAggregate aggregate : sumByMonth(user, from, to)) {
+                LocalDate bucket = YearMonth.parse(aggregate.getKey()).atDay(1);
+                if (aggregate.getTransactionType() == Finance.TransactionType.INCOME) {
+                    add(series.get(bucket), aggregate.getTotal(), BigDecimal.ZERO);
+                } else if (aggregate.getTransactionType() == Finance.TransactionType.EXPENSE) {
+                    add(series.get(bucket), BigDecimal.ZERO, aggregate.getTotal());
+                }
+            }
+        } else {
+            List<TimeSeriesPointDto> days = new ArrayList<>(financeRepository.sumIncomeExpenseByDate(user.getId(), from, to));
+            days.addAll(archiveService.sumIncomeExpenseByDate(user.getId(), from, to));
+            for (TimeSeriesPointDto day : days) {
+                add(series.get(interval.bucketStart(day.getPeriodStart())), day.getIncome(), day.getExpense());
+            }
+        }
+        return new ArrayList<>(series.values());
+    }
+
+    // Whole months come from the maintained rollup, like FinanceService.getAnalytics
+    private List<FinanceAggregate> sumByMonth(User user, LocalDate from, LocalDate to) {
+        if (from.getDayOfMonth() == 1 && to.equals(YearMonth.from(to).atEndOfMonth())) {
+            return rollupRepository.sumByMonth(user.getId(), YearMonth.from(from).toString(), YearMonth.from(to).toString());
+        }
+        return FinanceArchiveService.merge(financeRepository.sumByMonth(user, from, to),
+                archiveService.sumByMonth(user.getId(), from, to));
+    }
+
+    private void add(TimeSeriesPointDto point, BigDecimal income, BigDecimal expense) {
+        point.setIncome(point.getIncome().add(income));
+        point.setExpense(point.getExpense().add(expense));
+        point.setNet(point.getIncome().subtract(point.getExpense()));
+    }
+}
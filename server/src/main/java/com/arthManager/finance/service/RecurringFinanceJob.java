@@ -0,0 +1,55 @@
+package com.arthManager.finance.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+// Materializes due recurring transactions daily, and once at startup to catch up after downtime.
+// Walks idx_recurring_active_next_run in keyset chunks, one transaction per chunk.
+@Component
+@ConditionalOnProperty(name = "arth.finance.recurring.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class RecurringFinanceJob {
+
+    private final RecurringFinanceService recurringService;
+
+    @Value("${arth.finance.recurring.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${arth.finance.recurring.run-on-startup:true}")
+    private boolean runOnStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUp() {
+        if (runOnStartup) {
+            run();
+        }
+    }
+
+    @Scheduled(cron = "${arth.finance.recurring.cron:0 5 0 * * *}")
+    public void run() {
+        LocalDate today = LocalDate.now();
+        // Lowest MySQL DATE value: the first chunk starts before any definition
+        LocalDate afterDate = LocalDate.of(1000, 1, 1);
+        Long afterId = 0L;
+        int definitions = 0;
+        int generated = 0;
+        RecurringFinanceService.ChunkResult chunk;
+        do {
+            chunk = recurringService.processChunk(today, afterDate, afterId, chunkSize);
+            definitions += chunk.definitions();
+            generated += chunk.generated();
+            afterDate = chunk.lastRunDate();
+            afterId = chunk.lastId();
+        } while (chunk.definitions() == chunkSize);
+        log.info("Recurring pass for {}: {} definitions due, {} transactions generated", today, definitions, generated);
+    }
+}
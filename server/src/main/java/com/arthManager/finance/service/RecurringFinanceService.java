@@ -0,0 +1,233 @@
+package com.arthManager.finance.service;
+
+import com.arthManager.finance.dto.AddRecurringFinance;
+import com.arthManager.finance.dto.RecurringFinanceDto;
+import com.arthManager.finance.model.Finance;
+import com.arthManager.finance.model.RecurringFinance;
+import com.arthManager.finance.repository.RecurringFinanceRepository;
+import com.arthManager.user.model.User;
+import com.arthManager.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Recurring INCOME/EXPENSE definitions and the generator that turns their due occurrences into
+// Finance rows. Occurrences of a whole chunk of definitions (any number of users) are inserted with one
+// JDBC batch; each definition is advanced with a compare-and-set, so a re-run or a second instance
+// never materializes the same occurrence twice, and missed days are caught up on the next run.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecurringFinanceService {
+
+    // Catch-up cap per definition and run (e.g. ~3 years of a daily definition)
+    static final int MAX_OCCURRENCES_PER_RUN = 1000;
+
+    private final RecurringFinanceRepository recurringRepository;
+    private final FinanceService financeService;
+    private final UserRepository userRepository;
+
+    // Position after the last definition of a chunk; the next chunk starts strictly after it
+    public record ChunkResult(int definitions, int generated, LocalDate lastRunDate, Long lastId) {
+    }
+
+    private User getUserByUsername(String username) {
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+    }
+
+    @Transactional(readOnly = true)
+    public List<RecurringFinanceDto> getDefinitions(String username) {
+        User user = getUserByUsername(username);
+        return recurringRepository.findByUserIdOrderByNextRunDateAscIdAsc(user.getId())
+                .stream().map(this::toDto).toList();
+    }
+
+    // Occurrences already due (start date in the past) are generated immediately
+    @Transactional
+    public RecurringFinanceDto create(String username, AddRecurringFinance add) {
+        User user = getUserByUsername(username);
+        validate(add);
+        RecurringFinance recurring = new RecurringFinance();
+        recurring.setUser(user);
+        recurring.setFrequency(add.getFrequency());
+        recurring.setIntervalCount(add.getIntervalCount() != null ? add.getIntervalCount() : 1);
+        recurring.setStartDate(add.getStartDate());
+        recurring.setNextRunDate(add.getStartDate());
+        applyFields(recurring, add);
+
+        RecurringFinance saved = recurringRepository.saveAndFlush(recurring);
+        if (Boolean.TRUE.equals(saved.getActive())) {
+            materialize(List.of(saved), LocalDate.now());
+        }
+        return toDto(recurringRepository.findById(saved.getId()).orElse(saved));
+    }
+
+    // The schedule (frequency, interval, start date) is fixed once occurrences exist; amounts, texts,
+    // end date and the active flag can change at any time and apply to future occurrences only.
+    @Transactional
+    public RecurringFinanceDto update(String username, Long id, AddRecurringFinance add) {
+        User user = getUserByUsername(username);
+        // Locked: the save below writes generatedCount and nextRunDate, which the generator only moves by CAS
+        RecurringFinance recurring = recurringRepository.findByIdAndUserIdForUpdate(id, user.getId())
+                .orElseThrow(() -> new RuntimeException("Recurring transaction not found or not authorized"));
+        validate(add);
+        int intervalCount = add.getIntervalCount() != null ? add.getIntervalCount() : 1;
+        boolean scheduleChanged = add.getFrequency() != recurring.getFrequency()
+                || intervalCount != recurring.getIntervalCount()
+                || !Objects.equals(add.getStartDate(), recurring.getStartDate());
+        if (scheduleChanged) {
+            if (recurring.getGeneratedCount() > 0) {
+                throw new IllegalArgumentException(
+                        "Cannot change the schedule of a recurring transaction that already has occurrences; create a new one instead");
+            }
+            recurring.setFrequency(add.getFrequency());
+            recurring.setIntervalCount(intervalCount);
+            recurring.setStartDate(add.getStartDate());
+            recurring.setNextRunDate(add.getStartDate());
+        }
+
+        boolean resumed = !Boolean.TRUE.equals(recurring.getActive()) && !Boolean.FALSE.equals(add.getActive());
+        applyFields(recurring, add);
+        if (resumed) {
+            // Resuming does not back-fill the paused period: skip occurrences before today
+            LocalDate today = LocalDate.now();
+            long count = recurring.getGeneratedCount();
+            while (recurring.occurrence(count).isBefore(today)) {
+                count++;
+            }
+            recurring.setGeneratedCount(count);
+            recurring.setNextRunDate(recurring.occurrence(count));
+        }
+
+        RecurringFinance saved = recurringRepository.saveAndFlush(recurring);
+        if (Boolean.TRUE.equals(saved.getActive())) {
+            materialize(List.of(saved), LocalDate.now());
+        }
+        return toDto(recurringRepository.findById(saved.getId()).orElse(saved));
+    }
+
+    // Removes the definition; transactions it already generated are kept
+    @Transactional
+    public void delete(String username, Long id) {
+        User user = getUserByUsername(username);
+        RecurringFinance recurring = recurringRepository.findByIdAndUserId(id, user.getId())
+                .orElseThrow(() -> new RuntimeException("Recurring transaction not found or not authorized"));
+        recurringRepository.delete(recurring);
+    }
+
+    @Transactional
+    public ChunkResult processChunk(LocalDate today, LocalDate afterDate, Long afterId, int chunkSize) {
+        List<RecurringFinance> definitions = recurringRepository.findDueChunk(today, afterDate, afterId, Limit.of(chunkSize));
+        if (definitions.isEmpty()) {
+            return new ChunkResult(0, 0, afterDate, afterId);
+        }
+        int generated = materialize(definitions, today);
+        RecurringFinance last = definitions.get(definitions.size() - 1);
+        return new ChunkResult(definitions.size(), generated, last.getNextRunDate(), last.getId());
+    }
+
+    // Generates every occurrence up to today for the given definitions and inserts them in one batch
+    private int materialize(List<RecurringFinance> definitions, LocalDate today) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, List<Finance>> recordsByUser = new LinkedHashMap<>();
+        for (RecurringFinance recurring : definitions) {
+            long count = recurring.getGeneratedCount();
+            List<LocalDate> dates = new ArrayList<>();
+            LocalDate next = recurring.occurrence(count);
+            while (!next.isAfter(today) && !pastEnd(recurring, next) && dates.size() < MAX_OCCURRENCES_PER_RUN) {
+                dates.add(next);
+                count++;
+                next = recurring.occurrence(count);
+            }
+            boolean active = !pastEnd(recurring, next);
+            if (dates.isEmpty() && active) {
+                continue;
+            }
+            if (recurringRepository.advance(recurring.getId(), recurring.getGeneratedCount(), count, next, active) == 0) {
+                // Another run advanced this definition first
+                continue;
+            }
+            List<Finance> records = recordsByUser.computeIfAbsent(recurring.getUser().getId(), userId -> new ArrayList<>());
+            for (LocalDate date : dates) {
+                records.add(toFinance(recurring, date, now));
+            }
+        }
+        recordsByUser.values().removeIf(List::isEmpty);
+        if (recordsByUser.isEmpty()) {
+            return 0;
+        }
+        financeService.insertBatch(recordsByUser);
+        return recordsByUser.values().stream().mapToInt(List::size).sum();
+    }
+
+    private boolean pastEnd(RecurringFinance recurring, LocalDate date) {
+        return recurring.getEndDate() != null && date.isAfter(recurring.getEndDate());
+    }
+
+    private void validate(AddRecurringFinance add) {
+        if (add.getTransactionType() != Finance.TransactionType.INCOME
+                && add.getTransactionType() != Finance.TransactionType.EXPENSE) {
+            throw new IllegalArgumentException("Recurring transactions must be INCOME or EXPENSE");
+        }
+        if (add.getEndDate() != null && add.getEndDate().isBefore(add.getStartDate())) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+    }
+
+    private void applyFields(RecurringFinance recurring, AddRecurringFinance add) {
+        recurring.setDescription(add.getDescription());
+        recurring.setAmount(add.getAmount());
+        recurring.setCategory(add.getCategory());
+        recurring.setTransactionType(add.getTransactionType());
+        recurring.setPaymentMethod(add.getPaymentMethod());
+        recurring.setCounterparty(add.getCounterparty());
+        recurring.setEndDate(add.getEndDate());
+        recurring.setActive(!Boolean.FALSE.equals(add.getActive()));
+    }
+
+    private Finance toFinance(RecurringFinance recurring, LocalDate date, LocalDateTime now) {
+        Finance finance = new Finance();
+        finance.setUser(recurring.getUser());
+        finance.setTransactionDate(date);
+        finance.setDescription(recurring.getDescription());
+        finance.setAmount(recurring.getAmount());
+        finance.setCategory(recurring.getCategory());
+        finance.setTransactionType(recurring.getTransactionType());
+        finance.setPaymentMethod(recurring.getPaymentMethod());
+        finance.setCounterparty(recurring.getCounterparty() == null || recurring.getCounterparty().isEmpty()
+                ? "Self" : recurring.getCounterparty());
+        finance.setCreatedAt(now);
+        return finance;
+    }
+
+    private RecurringFinanceDto toDto(RecurringFinance recurring) {
+        RecurringFinanceDto dto = new RecurringFinanceDto();
+        dto.setId(recurring.getId());
+        dto.setDescription(recurring.getDescription());
+        dto.setAmount(recurring.getAmount());
+        dto.setCategory(recurring.getCategory());
+        dto.setTransactionType(recurring.getTransactionType());
+        dto.setPaymentMethod(recurring.getPaymentMethod());
+        dto.setCounterparty(recurring.getCounterparty());
+        dto.setFrequency(recurring.getFrequency());
+        dto.setIntervalCount(recurring.getIntervalCount());
+        dto.setStartDate(recurring.getStartDate());
+        dto.setEndDate(recurring.getEndDate());
+        dto.setNextRunDate(recurring.getNextRunDate());
+        dto.setGeneratedCount(recurring.getGeneratedCount());
+        dto.setActive(recurring.getActive());
+        return dto;
+    }
+}
@@ -0,0 +1,108 @@
+package com.arthManager.finance.service;
+
+import com.arthManager.finance.dto.BalancePointDto;
+import com.arthManager.finance.dto.TimeSeriesPointDto;
+import com.arthManager.finance.model.BalanceCheckpoint;
+import com.arthManager.finance.model.FinanceCategoryTotal;
+import com.arthManager.finance.repository.BalanceCheckpointRepository;
+import com.arthManager.finance.repository.FinanceCategoryTotalRepository;
+import com.arthManager.finance.repository.FinanceRepository;
+import com.arthManager.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Balance at any date = opening offset + month-end checkpoint before that date + the effects of at most
+// one month of transactions. Callers make sure the checkpoints exist (BalanceCheckpointService) first.
+@Service
+@RequiredArgsConstructor
+public class RunningBalanceService {
+
+    private final BalanceCheckpointRepository checkpointRepository;
+    private final FinanceRepository financeRepository;
+    private final FinanceCategoryTotalRepository categoryTotalRepository;
+    private final UserRepository userRepository;
+    private final FinanceArchiveService archiveService;
+
+    @Transactional(readOnly = true)
+    public BalancePointDto balanceAt(Long userId, LocalDate date) {
+        return new BalancePointDto(date, openingOffset(userId).add(cumulativeAt(userId, date)));
+    }
+
+    // One point per day; a single grouped range scan over [from, to]
+    @Transactional(readOnly = true)
+    public List<BalancePointDto> dailyHistory(Long userId, LocalDate from, LocalDate to) {
+        BigDecimal running = openingOffset(userId).add(cumulativeAt(userId, from.minusDays(1)));
+        Map<LocalDate, BigDecimal> effects = new HashMap<>();
+        for (BalancePointDto effect : sumEffectByDate(userId, from, to)) {
+            effects.merge(effect.getDate(), effect.getBalance(), BigDecimal::add);
+        }
+        List<BalancePointDto> points = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            running = running.add(effects.getOrDefault(day, BigDecimal.ZERO));
+            points.add(new BalancePointDto(day, running));
+        }
+        return points;
+    }
+
+    // One point per month end, read straight from the checkpoints; the current month ends at `today`
+    @Transactional(readOnly = true)
+    public List<BalancePointDto> monthlyHistory(Long userId, YearMonth from, YearMonth to, LocalDate today) {
+        BigDecimal offset = openingOffset(userId);
+        YearMonth current = YearMonth.from(today);
+        Map<String, BigDecimal> checkpoints = new HashMap<>();
+        for (BalanceCheckpoint checkpoint : checkpointRepository.findByUserIdAndCheckpointMonthBetweenOrderByCheckpointMonth(
+                userId, from.toString(), to.toString())) {
+            checkpoints.put(checkpoint.getCheckpointMonth(), checkpoint.getBalance());
+        }
+        List<BalancePointDto> points = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            if (month.equals(current)) {
+                points.add(new BalancePointDto(today, offset.add(cumulativeAt(userId, today))));
+            } else {
+                // No checkpoint: the month lies before the user's first transaction
+                points.add(new BalancePointDto(month.atEndOfMonth(),
+                        offset.add(checkpoints.getOrDefault(month.toString(), BigDecimal.ZERO))));
+            }
+        }
+        return points;
+    }
+
+    private BigDecimal cumulativeAt(Long userId, LocalDate date) {
+        YearMonth month = YearMonth.from(date);
+        BigDecimal balance = checkpointRepository
+                .findTopByUserIdAndCheckpointMonthLessThanEqualOrderByCheckpointMonthDesc(userId, month.minusMonths(1).toString())
+                .map(BalanceCheckpoint::getBalance)
+                .orElse(BigDecimal.ZERO);
+        for (BalancePointDto effect : sumEffectByDate(userId, month.atDay(1), date)) {
+            balance = balance.add(effect.getBalance());
+        }
+        return balance;
+    }
+
+    // Daily effects from finance plus, when the range reaches it, the archive (a day can appear in both)
+    private List<BalancePointDto> sumEffectByDate(Long userId, LocalDate from, LocalDate to) {
+        List<BalancePointDto> effects = new ArrayList<>(financeRepository.sumEffectByDate(userId, from, to));
+        for (TimeSeriesPointDto day : archiveService.sumIncomeExpenseByDate(userId, from, to)) {
+            effects.add(new BalancePointDto(day.getPeriodStart(), day.getIncome().subtract(day.getExpense())));
+        }
+        return effects;
+    }
+
+    // User.balance minus the lifetime effect of all transactions: whatever the balance started from
+    private BigDecimal openingOffset(Long userId) {
+        BigDecimal lifetime = BigDecimal.ZERO;
+        for (FinanceCategoryTotal total : categoryTotalRepository.findByUserId(userId)) {
+            lifetime = lifetime.add(BalanceCheckpointService.effect(total.getTransactionType(), total.getTotalAmount()));
+        }
+        return userRepository.findBalanceById(userId).subtract(lifetime);
+    }
+}
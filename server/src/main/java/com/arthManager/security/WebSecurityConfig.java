@@ -63,7 +63,9 @@ public class WebSecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
-                        .requestMatchers("/actuator/**").permitAll()
+                        .requestMatchers("/actuator/health/**", "/actuator/info").permitAll()
+                        // metrics and caches span every user (DELETE /actuator/caches flushes them all); admins only
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/api/urls/**").authenticated()
                                 .requestMatchers(
                                         "/swagger-ui/**",
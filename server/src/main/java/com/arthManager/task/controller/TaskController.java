@@ -6,7 +6,6 @@ import com.arthManager.task.service.TaskService;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
@@ -20,16 +19,21 @@ public class TaskController {
     @Autowired
     private TaskService taskService;
 
+    // pagination=slice returns a SliceResponse (hasNext/hasPrevious, no totals) and skips the COUNT(*) query
     @GetMapping
-    public Page<TaskDto> getAllTasks(
+    public ResponseEntity<?> getAllTasks(
             @RequestParam(value = "date", required = false) String dateString,
             @RequestParam(value = "month", required = false) String monthString,
             @RequestParam(value = "year", required = false) Integer year,
             @RequestParam(value = "page", defaultValue = "0") int page,
             @RequestParam(value = "size", defaultValue = "5") int size,
+            @RequestParam(value = "pagination", required = false) String pagination,
             @AuthenticationPrincipal(expression = "username") String username) {
         try {
-            return taskService.getAllTasks(username, dateString, monthString, year, page, size);
+            if ("slice".equalsIgnoreCase(pagination)) {
+                return ResponseEntity.ok(taskService.getTaskSlice(username, dateString, monthString, year, page, size));
+            }
+            return ResponseEntity.ok(taskService.getAllTasks(username, dateString, monthString, year, page, size));
         } catch (Exception e) {
             throw new RuntimeException("Error fetching tasks: " + e.getMessage());
         }
@@ -3,12 +3,20 @@ package com.arthManager.task.model;
 import com.arthManager.user.model.User;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import java.time.LocalDate;
 
 @Data
 @Entity
+@Table(indexes = {
+        // Task lists: WHERE user_id = ? [AND date_added ...] ORDER BY date_added DESC
+        @Index(name = "idx_task_user_date_added", columnList = "user_id, date_added"),
+        // Due-date lookups (findByUserAndDueDateBetween/Before/After)
+        @Index(name = "idx_task_user_due_date", columnList = "user_id, due_date")
+})
 public class Task {
 
     @Id
@@ -42,9 +50,11 @@ public class Task {
     // Optional field for email reminders
     private boolean emailReminder;
 
-    // Many-to-one relationship with User (each task belongs to a user)
-    @ManyToOne
+    // Many-to-one relationship with User (each task belongs to a user); loaded only when accessed
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User user;
 
     // Constructors, getters, and setters
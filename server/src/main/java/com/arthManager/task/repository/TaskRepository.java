@@ -2,7 +2,11 @@ package com.arthManager.task.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import com.arthManager.task.dto.TaskDto;
 import com.arthManager.task.model.Task;
 import com.arthManager.user.model.User;
 import org.springframework.stereotype.Repository;
@@ -30,6 +34,36 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     Page<Task> findByUser(User user, Pageable pageable);
 
     Page<Task> findByUserAndDateAddedBetween(User user, LocalDate startDate, LocalDate endDate, Pageable pageable);
+
+    // Read endpoints select the TaskDto columns directly: no Task/User entities are loaded.
+    // Slice variants skip the COUNT(*) query, the extra row fetched tells whether a next page exists.
+    String SELECT_TASK_DTO = "SELECT new com.arthManager.task.dto.TaskDto(t.id, t.title, t.description, t.priority,"
+            + " t.type, t.dateAdded, t.dueDate, t.completed, t.emailReminder) FROM Task t";
+
+    @Query(value = SELECT_TASK_DTO + " WHERE t.user.id = :userId",
+            countQuery = "SELECT COUNT(t) FROM Task t WHERE t.user.id = :userId")
+    Page<TaskDto> findDtoByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(value = SELECT_TASK_DTO + " WHERE t.user.id = :userId AND t.dateAdded BETWEEN :startDate AND :endDate",
+            countQuery = "SELECT COUNT(t) FROM Task t WHERE t.user.id = :userId AND t.dateAdded BETWEEN :startDate AND :endDate")
+    Page<TaskDto> findDtoByUserIdAndDateAddedBetween(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            Pageable pageable);
+
+    @Query(SELECT_TASK_DTO + " WHERE t.user.id = :userId")
+    Slice<TaskDto> findDtoSliceByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(SELECT_TASK_DTO + " WHERE t.user.id = :userId AND t.dateAdded BETWEEN :startDate AND :endDate")
+    Slice<TaskDto> findDtoSliceByUserIdAndDateAddedBetween(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            Pageable pageable);
+
+    @Query(SELECT_TASK_DTO + " WHERE t.id = :id AND t.user.id = :userId")
+    Optional<TaskDto> findDtoByUserIdAndId(@Param("userId") Long userId, @Param("id") Long id);
 }
 
 
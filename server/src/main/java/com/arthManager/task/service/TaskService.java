@@ -1,5 +1,8 @@
 package com.arthManager.task.service;
 
+import com.arthManager.cache.UserCacheGenerations;
+import com.arthManager.cache.UserScopedKeyGenerator;
+import com.arthManager.common.dto.SliceResponse;
 import com.arthManager.task.dto.AddTask;
 import com.arthManager.task.dto.TaskDto;
 import com.arthManager.task.model.Task;
@@ -10,12 +13,11 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -39,37 +41,60 @@ public class TaskService {
     @Autowired
     private ModelMapper modelMapper;
 
+    @Autowired
+    private UserCacheGenerations cacheGenerations;
+
     // Get user by username
     private User getUserByUsername(String username) {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
     }
 
-    @Cacheable(value = "tasks", key = "#username + '_' + #dateString + '_' + #monthString + '_' + #year + '_' + #page + '_' + #size")
+    private Long getUserIdByUsername(String username) {
+        return userRepository.findIdByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+    }
+
+    // Task caches are per user and keyed on every argument; writes bump the user's cache generation
+    @Cacheable(value = "tasks", keyGenerator = UserScopedKeyGenerator.NAME)
     public Page<TaskDto> getAllTasks(String username, String dateString, String monthString, Integer year, int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("dateAdded").descending());
-        User user = getUserByUsername(username);
+        Long userId = getUserIdByUsername(username);
+
+        if (dateString != null && !dateString.isEmpty()) {
+            LocalDate date = LocalDate.parse(dateString);
+            return taskRepository.findDtoByUserIdAndDateAddedBetween(userId, date, date, pageable);
+        } else if (monthString != null && year != null && !"All".equals(monthString)) {
+            int monthIndex = Month.valueOf(monthString.toUpperCase()).getValue();
+            LocalDate startDate = LocalDate.of(year, monthIndex, 1);
+            LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
+            return taskRepository.findDtoByUserIdAndDateAddedBetween(userId, startDate, endDate, pageable);
+        } else {
+            return taskRepository.findDtoByUserId(userId, pageable);
+        }
+    }
+
+    // Count-free variant of getAllTasks for clients that only need next/previous
+    @Cacheable(value = "tasks", keyGenerator = UserScopedKeyGenerator.NAME)
+    public SliceResponse<TaskDto> getTaskSlice(String username, String dateString, String monthString, Integer year, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by("dateAdded").descending());
+        Long userId = getUserIdByUsername(username);
 
+        Slice<TaskDto> slice;
         if (dateString != null && !dateString.isEmpty()) {
             LocalDate date = LocalDate.parse(dateString);
-            Page<Task> entityPage = taskRepository.findByUserAndDateAdded(user, date, pageable);
-            return entityPage.map(e -> modelMapper.map(e, TaskDto.class));
+            slice = taskRepository.findDtoSliceByUserIdAndDateAddedBetween(userId, date, date, pageable);
         } else if (monthString != null && year != null && !"All".equals(monthString)) {
             int monthIndex = Month.valueOf(monthString.toUpperCase()).getValue();
             LocalDate startDate = LocalDate.of(year, monthIndex, 1);
             LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
-            Page<Task> entityPage = taskRepository.findByUserAndDateAddedBetween(user, startDate, endDate, pageable);
-            return entityPage.map(e -> modelMapper.map(e, TaskDto.class));
+            slice = taskRepository.findDtoSliceByUserIdAndDateAddedBetween(userId, startDate, endDate, pageable);
         } else {
-            Page<Task> entityPage = taskRepository.findByUser(user, pageable);
-            return entityPage.map(e -> modelMapper.map(e, TaskDto.class));
+            slice = taskRepository.findDtoSliceByUserId(userId, pageable);
         }
+        return SliceResponse.of(slice, dto -> dto);
     }
 
-    @Caching(evict = {
-            @CacheEvict(value = "tasks", allEntries = true),
-            @CacheEvict(value = "task", allEntries = true)
-    })
     public Task createTask(AddTask addTask, String username) {
         User user = getUserByUsername(username);
 
@@ -84,21 +109,17 @@ public class TaskService {
         task.setDateAdded(LocalDate.now()); // Set the current date as the dateAdded
         task.setEmailReminder(addTask.getEmailReminder());
 
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        cacheGenerations.invalidate(username);
+        return saved;
     }
 
-    @Cacheable(value = "task", key = "#username + '_' + #id")
+    @Cacheable(value = "task", keyGenerator = UserScopedKeyGenerator.NAME)
     public TaskDto getTaskById(Long id, String username) {
-        User user = getUserByUsername(username);
-        Task task = taskRepository.findByUserAndId(user, id)
+        return taskRepository.findDtoByUserIdAndId(getUserIdByUsername(username), id)
                 .orElseThrow(() -> new RuntimeException("Task not found with id: " + id));
-        return modelMapper.map(task, TaskDto.class);
     }
 
-    @Caching(evict = {
-            @CacheEvict(value = "tasks", allEntries = true),
-            @CacheEvict(value = "task", key = "#username + '_' + #id")
-    })
     public TaskDto updateTask(Long id, TaskDto updatedTask, String username) {
         User user = getUserByUsername(username);
         Task existingTask = taskRepository.findByUserAndId(user, id)
@@ -106,14 +127,11 @@ public class TaskService {
 
         modelMapper.map(updatedTask, existingTask);
         Task saved = taskRepository.save(existingTask);
+        cacheGenerations.invalidate(username);
 
         return modelMapper.map(saved, TaskDto.class);
     }
 
-    @Caching(evict = {
-            @CacheEvict(value = "tasks", allEntries = true),
-            @CacheEvict(value = "task", key = "#username + '_' + #id")
-    })
     public TaskDto completeTask(Long id, String username) {
         User user = getUserByUsername(username);
         Task task = taskRepository.findByUserAndId(user, id)
@@ -121,19 +139,17 @@ public class TaskService {
 
         task.setCompleted(true);
         Task savedTask = taskRepository.save(task);
+        cacheGenerations.invalidate(username);
         return modelMapper.map(savedTask, TaskDto.class);
     }
 
-    @Caching(evict = {
-            @CacheEvict(value = "tasks", allEntries = true),
-            @CacheEvict(value = "task", key = "#username + '_' + #id")
-    })
     public void deleteTask(Long id, String username) {
         User user = getUserByUsername(username);
         Task task = taskRepository.findByUserAndId(user, id)
                 .orElseThrow(() -> new RuntimeException("Task not found with id: " + id));
 
         taskRepository.delete(task);
+        cacheGenerations.invalidate(username);
     }
 
     @Autowired
@@ -151,7 +167,9 @@ public class TaskService {
 
     public Task save(Task task) {
         try {
-            return taskRepository.save(task);
+            Task saved = taskRepository.save(task);
+            cacheGenerations.invalidate(task.getUser().getUsername());
+            return saved;
         } catch (Exception e) {
             log.error("Error saving task: ", e);
             throw new RuntimeException("Failed to save task", e);
@@ -2,6 +2,8 @@ package com.arthManager.user.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -32,15 +34,25 @@ public class User implements UserDetails {
 
     private String highestQualification;
 
+    // Lazy collection: kept out of toString/equals so logging or comparing a User never loads it
     @ElementCollection
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<String> hobbies;
 
     private Boolean termsAccepted = false;
 
     private BigDecimal balance = BigDecimal.ZERO;
 
+    // Currency of the balance and of every stored finance amount; null = arth.finance.currency.default-base
+    @Column(length = 3)
+    private String baseCurrency;
+
     private boolean emailVerified = false;
 
+    // Opt-in compaction: income/expense older than this many years is folded into monthly summary rows (null = off)
+    private Integer compactAfterYears;
+
 
 
     // Overriding methods of UserDetails interface
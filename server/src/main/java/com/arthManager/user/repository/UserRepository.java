@@ -1,9 +1,17 @@
 package com.arthManager.user.repository;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.arthManager.user.model.User;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,4 +22,29 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
+
+    // Read paths that only need the owner's key: skips loading the User entity and its hobbies
+    @Query("SELECT u.id FROM User u WHERE u.username = :username")
+    Optional<Long> findIdByUsername(@Param("username") String username);
+
+    // Atomic in-database increment; concurrent writers cannot overwrite each other's change
+    @Modifying
+    @Query("UPDATE User u SET u.balance = COALESCE(u.balance, 0) + :delta WHERE u.id = :id")
+    int addToBalance(@Param("id") Long id, @Param("delta") BigDecimal delta);
+
+    // SELECT ... FOR UPDATE on the user row: serializes with balance writes, which lock it via addToBalance
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u.id FROM User u WHERE u.id = :id")
+    Long lockById(@Param("id") Long id);
+
+    @Query("SELECT COALESCE(u.balance, 0) FROM User u WHERE u.id = :id")
+    BigDecimal findBalanceById(@Param("id") Long id);
+
+    // Keyset walk over all users for batch jobs
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Users who opted in to finance compaction, in keyset order
+    @Query("SELECT u FROM User u WHERE u.compactAfterYears IS NOT NULL AND u.id > :afterId ORDER BY u.id")
+    List<User> findCompactionCandidatesAfter(@Param("afterId") Long afterId, Limit limit);
 }
@@ -0,0 +1,162 @@
+package com.arthManager;
+
+import com.arthManager.finance.dto.AddFinance;
+import com.arthManager.finance.model.Finance;
+import com.arthManager.finance.repository.FinanceRepository;
+import com.arthManager.finance.service.FinanceService;
+import com.arthManager.task.dto.AddTask;
+import com.arthManager.task.service.TaskService;
+import com.arthManager.user.model.User;
+import com.arthManager.user.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Counts the JDBC statements each read endpoint issues (Hibernate statistics). Every endpoint must stay
+// at a constant number of statements regardless of how many rows it returns, so an N+1 fails here.
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class ReadEndpointQueryCountTest {
+
+    private static final int ROWS = 12;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FinanceRepository financeRepository;
+
+    @Autowired
+    private FinanceService financeService;
+
+    @Autowired
+    private TaskService taskService;
+
+    private String username;
+    private Long financeId;
+    private Long taskId;
+
+    // A fresh user per test, so no earlier response is served from the per-user caches
+    @BeforeEach
+    void seed() {
+        User owner = new User();
+        owner.setUsername("queries-" + UUID.randomUUID());
+        owner.setPassword("password");
+        owner.setEmail("queries@example.com");
+        owner.setHobbies(List.of("reading", "chess"));
+        username = userRepository.save(owner).getUsername();
+
+        for (int i = 0; i < ROWS; i++) {
+            AddFinance addFinance = new AddFinance();
+            addFinance.setTransactionDate(LocalDate.now().minusDays(i));
+            addFinance.setDescription("Query count " + i);
+            addFinance.setAmount(new BigDecimal("10.00"));
+            addFinance.setCategory("Testing");
+            addFinance.setTransactionType(Finance.TransactionType.EXPENSE);
+            financeId = financeService.createFinanceRecord(addFinance, username).getId();
+
+            AddTask addTask = new AddTask();
+            addTask.setTitle("Task " + i);
+            addTask.setDescription("Query count");
+            addTask.setPriority("low");
+            addTask.setType("personal");
+            addTask.setDueDate(LocalDate.now().plusDays(i));
+            addTask.setEmailReminder(false);
+            taskId = taskService.createTask(addTask, username).getId();
+        }
+    }
+
+    // User id lookup + one select (the full page fits, so no COUNT)
+    @Test
+    void transactionPage() throws Exception {
+        assertThat(statementsFor(get("/api/finance/transactions?size=50"))).isEqualTo(2);
+    }
+
+    @Test
+    void transactionSlice() throws Exception {
+        assertThat(statementsFor(get("/api/finance/transactions?pagination=slice&size=5"))).isEqualTo(2);
+    }
+
+    @Test
+    void transactionCursor() throws Exception {
+        assertThat(statementsFor(get("/api/finance/transactions?pagination=cursor&size=5"))).isEqualTo(2);
+    }
+
+    // A partial page needs the COUNT query
+    @Test
+    void transactionPageWithCount() throws Exception {
+        assertThat(statementsFor(get("/api/finance/transactions?size=5"))).isEqualTo(3);
+    }
+
+    @Test
+    void transactionById() throws Exception {
+        assertThat(statementsFor(get("/api/finance/transactions/" + financeId))).isEqualTo(2);
+    }
+
+    @Test
+    void taskPage() throws Exception {
+        assertThat(statementsFor(get("/api/tasks?size=50"))).isEqualTo(2);
+    }
+
+    @Test
+    void taskSlice() throws Exception {
+        assertThat(statementsFor(get("/api/tasks?pagination=slice&size=5"))).isEqualTo(2);
+    }
+
+    @Test
+    void taskById() throws Exception {
+        assertThat(statementsFor(get("/api/tasks/" + taskId))).isEqualTo(2);
+    }
+
+    // Loading Finance entities must not pull in their owner (or the owner's hobbies)
+    @Test
+    void financeEntitiesDoNotLoadTheirOwner() {
+        Long userId = userRepository.findIdByUsername(username).orElseThrow();
+        List<Long> ids = new ArrayList<>();
+        financeRepository.findAll().stream()
+                .filter(finance -> finance.getUser().getId().equals(userId))
+                .forEach(finance -> ids.add(finance.getId()));
+        assertThat(ids).hasSize(ROWS);
+
+        Statistics statistics = statistics();
+        statistics.clear();
+        assertThat(financeRepository.findAllById(ids)).hasSize(ROWS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(ROWS);
+    }
+
+    private long statementsFor(MockHttpServletRequestBuilder request) throws Exception {
+        Statistics statistics = statistics();
+        statistics.clear();
+        mockMvc.perform(request.with(user(username))).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
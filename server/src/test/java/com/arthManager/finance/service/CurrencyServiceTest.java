@@ -0,0 +1,105 @@
+package com.arthManager.finance.service;
+
+import com.arthManager.finance.dto.AddFinance;
+import com.arthManager.finance.model.ExchangeRate;
+import com.arthManager.finance.model.Finance;
+import com.arthManager.user.model.User;
+import com.arthManager.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A foreign amount is converted at its date's rate; without a rate it is booked as entered in the base
+// currency and the caller gets a notice instead of a failed write
+@SpringBootTest
+class CurrencyServiceTest {
+
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000.00");
+
+    @Autowired
+    private FinanceService financeService;
+
+    @Autowired
+    private CurrencyService currencyService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        user = new User();
+        user.setUsername("currency-" + UUID.randomUUID());
+        user.setPassword("password");
+        user.setEmail("currency@example.com");
+        user.setBalance(OPENING_BALANCE);
+        user = userRepository.save(user);
+    }
+
+    @Test
+    void foreignAmountIsConvertedAtItsDatesRate() {
+        LocalDate date = LocalDate.of(2024, 3, 15);
+        currencyService.loadRates(List.of(new ExchangeRate(null, "EUR", date.withDayOfMonth(1), new BigDecimal("90.00"))));
+
+        Finance saved = financeService.createFinanceRecord(record(date, "eur", "10.00"), user.getUsername());
+
+        assertThat(saved.getCurrency()).isEqualTo("EUR");
+        assertThat(saved.getOriginalAmount()).isEqualByComparingTo("10.00");
+        assertThat(saved.getAmount()).isEqualByComparingTo("900.00");
+        assertThat(financeService.missingRateNotice("eur", saved)).isNull();
+        assertThat(userRepository.findBalanceById(user.getId())).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    void missingRateBooksInBaseCurrency() {
+        LocalDate date = LocalDate.of(2024, 3, 15);
+
+        Finance saved = financeService.createFinanceRecord(record(date, "JPY", "25.00"), user.getUsername());
+
+        assertThat(saved.getCurrency()).isNull();
+        assertThat(saved.getOriginalAmount()).isNull();
+        assertThat(saved.getAmount()).isEqualByComparingTo("25.00");
+        assertThat(financeService.missingRateNotice("JPY", saved))
+                .isEqualTo("No exchange rate for JPY on or before 2024-03-15, so the amount was recorded as 25.00 INR");
+        assertThat(userRepository.findBalanceById(user.getId())).isEqualByComparingTo("975.00");
+    }
+
+    @Test
+    void missingRateOnChatbotStyleSaveBooksInBaseCurrency() {
+        Finance finance = new Finance();
+        finance.setUser(user);
+        finance.setAmount(new BigDecimal("40.00"));
+        finance.setCurrency("JPY");
+        finance.setDescription("Currency test");
+        finance.setCategory("Testing");
+        finance.setTransactionType(Finance.TransactionType.EXPENSE);
+        finance.setTransactionDate(LocalDate.of(2024, 3, 15));
+
+        Finance saved = financeService.save(finance);
+
+        assertThat(saved.getCurrency()).isNull();
+        assertThat(saved.getAmount()).isEqualByComparingTo("40.00");
+        assertThat(financeService.missingRateNotice("JPY", saved)).isNotNull();
+        assertThat(userRepository.findBalanceById(user.getId())).isEqualByComparingTo("960.00");
+    }
+
+    private AddFinance record(LocalDate date, String currency, String amount) {
+        AddFinance addFinance = new AddFinance();
+        addFinance.setTransactionDate(date);
+        addFinance.setDescription("Currency test");
+        addFinance.setAmount(new BigDecimal(amount));
+        addFinance.setCurrency(currency);
+        addFinance.setCategory("Testing");
+        addFinance.setTransactionType(Finance.TransactionType.EXPENSE);
+        return addFinance;
+    }
+}
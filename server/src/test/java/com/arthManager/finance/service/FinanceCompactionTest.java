@@ -0,0 +1,260 @@
+package com.arthManager.finance.service;
+
+import com.arthManager.finance.dto.AddFinance;
+import com.arthManager.finance.dto.FinanceAggregate;
+import com.arthManager.finance.dto.FinanceAnalyticsDto;
+import com.arthManager.finance.dto.FinanceSummaryDto;
+import com.arthManager.finance.model.Finance;
+import com.arthManager.finance.repository.FinanceArchiveRepository;
+import com.arthManager.finance.repository.FinanceRepository;
+import com.arthManager.user.model.User;
+import com.arthManager.user.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Compaction gives up line-level detail only: totals, counts and month-end balances must be unchanged,
+// and every replaced row (from finance and finance_archive) must be in the NDJSON archive file
+@SpringBootTest(properties = {
+        "arth.finance.compaction.enabled=true",
+        "arth.finance.compaction.archive-dir=${java.io.tmpdir}/arth-compaction-test"
+})
+class FinanceCompactionTest {
+
+    @Autowired
+    private FinanceCompactionJob compactionJob;
+
+    @Autowired
+    private FinanceCompactionService compactionService;
+
+    @Autowired
+    private FinanceService financeService;
+
+    @Autowired
+    private FinanceSummaryService summaryService;
+
+    @Autowired
+    private FinanceArchiveService archiveService;
+
+    @Autowired
+    private FinanceRepository financeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${arth.finance.compaction.archive-dir}")
+    private String archiveDir;
+
+    private User user;
+    private LocalDate today;
+    private YearMonth oldMonth;
+
+    @BeforeEach
+    void createUserWithHistory() {
+        user = new User();
+        user.setUsername("compaction-" + UUID.randomUUID());
+        user.setPassword("password");
+        user.setEmail("compaction@example.com");
+        user = userRepository.save(user);
+
+        today = LocalDate.now();
+        // Well before the one-year horizon
+        oldMonth = YearMonth.from(today).minusMonths(15);
+        create(oldMonth.atDay(3), Finance.TransactionType.EXPENSE, "Food", "Cash", "10.00");
+        create(oldMonth.atDay(9), Finance.TransactionType.EXPENSE, "Food", "Cash", "15.50");
+        create(oldMonth.atDay(12), Finance.TransactionType.EXPENSE, "Food", "Card", "7.25");
+        create(oldMonth.atDay(14), Finance.TransactionType.INCOME, "Salary", "Bank Transfer", "1000.00");
+        create(oldMonth.atDay(21), Finance.TransactionType.INCOME, "Salary", "Bank Transfer", "5.00");
+        create(oldMonth.atDay(24), Finance.TransactionType.EXPENSE, "Food", "Cash", "2.75");
+        create(oldMonth.atDay(27), Finance.TransactionType.LOAN, "Personal", "Cash", "50.00");
+        create(oldMonth.plusMonths(1).atDay(4), Finance.TransactionType.EXPENSE, "Rent", "Bank Transfer", "300.00");
+        create(oldMonth.plusMonths(1).atDay(18), Finance.TransactionType.EXPENSE, "Rent", null, "20.00");
+        create(oldMonth.plusMonths(1).atDay(19), Finance.TransactionType.EXPENSE, "Rent", null, "1.00");
+        create(today, Finance.TransactionType.EXPENSE, "Food", "Cash", "3.00");
+        compactionService.setCompactAfterYears(user.getUsername(), 1);
+    }
+
+    @AfterEach
+    void disableArchive() {
+        setArchiveEnabled(false);
+    }
+
+    @Test
+    void compactionKeepsTotalsCountsAndBalances() throws IOException {
+        Snapshot before = snapshot();
+        Set<Long> replaced = eligibleIds("finance");
+
+        compact();
+
+        Snapshot after = snapshot();
+        assertThat(after.summary()).usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(before.summary());
+        assertThat(after.aggregates()).usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(before.aggregates());
+        assertThat(after.balances()).usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(before.balances());
+        assertThat(eligibleIds("finance")).doesNotContainAnyElementsOf(replaced);
+        assertThat(physicalRows("finance")).isLessThan(before.physicalRows());
+        assertThat(archivedIds()).containsExactlyInAnyOrderElementsOf(replaced);
+    }
+
+    @Test
+    void compactionCoversArchivedRows() throws IOException {
+        setArchiveEnabled(true);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + FinanceArchiveRepository.TABLE + " AS SELECT * FROM finance WHERE 1 = 0");
+        // The first half of the old month and everything before it moves to the archive
+        for (Finance.TransactionType type : List.of(Finance.TransactionType.INCOME, Finance.TransactionType.EXPENSE)) {
+            archiveService.archiveChunk(user.getId(), type, oldMonth.atDay(15), 1000);
+        }
+        Set<Long> replaced = eligibleIds("finance");
+        Set<Long> archived = eligibleIds(FinanceArchiveRepository.TABLE);
+        assertThat(archived).isNotEmpty();
+        replaced.addAll(archived);
+        Snapshot before = snapshot();
+
+        compact();
+
+        Snapshot after = snapshot();
+        assertThat(after.summary()).usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(before.summary());
+        assertThat(after.aggregates()).usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(before.aggregates());
+        assertThat(after.balances()).usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(before.balances());
+        assertThat(eligibleIds(FinanceArchiveRepository.TABLE)).isEmpty();
+        assertThat(archivedIds()).containsExactlyInAnyOrderElementsOf(replaced);
+    }
+
+    private record Snapshot(FinanceSummaryDto summary, Map<String, FinanceAggregate> aggregates,
+                            Map<LocalDate, BigDecimal> balances, long physicalRows) {
+    }
+
+    private Snapshot snapshot() {
+        Map<String, FinanceAggregate> aggregates = new LinkedHashMap<>();
+        // A range that is not month-aligned, so the groups are computed from the rows and not from the rollup
+        LocalDate start = oldMonth.minusMonths(1).atDay(2);
+        if (archiveService.isEnabled()) {
+            // The archive's month grouping is MySQL-only SQL; categories and payment methods cover the rows
+            put(aggregates, "category", FinanceArchiveService.merge(financeRepository.sumByCategory(user, start, today),
+                    archiveService.sumByCategory(user.getId(), start, today)));
+            put(aggregates, "paymentMethod", FinanceArchiveService.merge(
+                    financeRepository.sumByPaymentMethod(user, start, today),
+                    archiveService.sumByPaymentMethod(user.getId(), start, today)));
+        } else {
+            FinanceAnalyticsDto analytics = financeService.getAnalytics(user.getUsername(), start.toString(), today.toString());
+            put(aggregates, "category", analytics.getByCategory());
+            put(aggregates, "paymentMethod", analytics.getByPaymentMethod());
+            put(aggregates, "month", analytics.getByMonth());
+        }
+
+        // Month-end balances; days inside a compacted month move to its first day
+        Map<LocalDate, BigDecimal> balances = new LinkedHashMap<>();
+        for (YearMonth month = oldMonth.minusMonths(1); month.isBefore(YearMonth.from(today)); month = month.plusMonths(1)) {
+            balances.put(month.atEndOfMonth(),
+                    financeService.getBalanceAt(user.getUsername(), month.atEndOfMonth().toString()).getBalance());
+        }
+        balances.put(today, financeService.getBalanceAt(user.getUsername(), today.toString()).getBalance());
+
+        return new Snapshot(summaryService.computeSummary(user.getId()), aggregates, balances, physicalRows("finance"));
+    }
+
+    private void put(Map<String, FinanceAggregate> aggregates, String grouping, List<FinanceAggregate> groups) {
+        for (FinanceAggregate aggregate : groups) {
+            aggregates.put(grouping + "|" + aggregate.getKey() + "|" + aggregate.getTransactionType(), aggregate);
+        }
+    }
+
+    private void compact() throws IOException {
+        Files.deleteIfExists(archiveFile());
+        compactionJob.run();
+    }
+
+    // Loose INCOME/EXPENSE rows of the compacted months in the given table
+    private Set<Long> eligibleIds(String table) {
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM " + table
+                        + " WHERE user_id = ? AND transaction_type IN ('INCOME', 'EXPENSE') AND compacted_count IS NULL"
+                        + " AND transaction_date >= ? AND transaction_date <= ?",
+                Long.class, user.getId(), Date.valueOf(oldMonth.atDay(1)), Date.valueOf(oldMonth.plusMonths(1).atEndOfMonth())));
+    }
+
+    private long physicalRows(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE user_id = ?", Long.class, user.getId());
+    }
+
+    // Ids in the archive file; GZIPInputStream reads all of its concatenated members
+    private List<Long> archivedIds() throws IOException {
+        List<Long> ids = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(archiveFile())), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                ids.add(objectMapper.readTree(line).get("id").asLong());
+            }
+        }
+        return ids;
+    }
+
+    private Path archiveFile() {
+        return Paths.get(archiveDir).resolve("user-" + user.getId() + "-" + LocalDate.now() + ".ndjson.gz");
+    }
+
+    private void setArchiveEnabled(boolean enabled) {
+        FinanceArchiveService target = AopTestUtils.getTargetObject(archiveService);
+        ReflectionTestUtils.setField(target, "enabled", enabled);
+    }
+
+    private void create(LocalDate date, Finance.TransactionType type, String category, String paymentMethod, String amount) {
+        AddFinance addFinance = new AddFinance();
+        addFinance.setTransactionDate(date);
+        addFinance.setDescription("Compaction test");
+        addFinance.setAmount(new BigDecimal(amount));
+        addFinance.setCategory(category);
+        addFinance.setTransactionType(type);
+        addFinance.setPaymentMethod(paymentMethod);
+        if (type == Finance.TransactionType.LOAN) {
+            addFinance.setDueStatus(Finance.DueStatus.UNPAID);
+        }
+        financeService.createFinanceRecord(addFinance, user.getUsername());
+    }
+}
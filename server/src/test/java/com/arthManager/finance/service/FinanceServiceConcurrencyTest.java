@@ -0,0 +1,132 @@
+package com.arthManager.finance.service;
+
+import com.arthManager.finance.dto.AddFinance;
+import com.arthManager.finance.model.Finance;
+import com.arthManager.user.model.User;
+import com.arthManager.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Hammers a single user's balance from many threads; every write must be reflected exactly once
+@SpringBootTest
+class FinanceServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ITERATIONS_PER_THREAD = 25;
+
+    @Autowired
+    private FinanceService financeService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        user = new User();
+        user.setUsername("stress-" + UUID.randomUUID());
+        user.setPassword("password");
+        user.setEmail("stress@example.com");
+        user = userRepository.save(user);
+    }
+
+    @Test
+    void concurrentCreatesDoNotLoseBalanceUpdates() throws Exception {
+        // Seed both rollup buckets so the threads only ever update existing rows
+        financeService.createFinanceRecord(record(Finance.TransactionType.INCOME, "3.00"), user.getUsername());
+        financeService.createFinanceRecord(record(Finance.TransactionType.EXPENSE, "1.00"), user.getUsername());
+
+        runConcurrently(() -> {
+            for (int i = 0; i < ITERATIONS_PER_THREAD; i++) {
+                financeService.createFinanceRecord(record(Finance.TransactionType.INCOME, "3.00"), user.getUsername());
+                financeService.createFinanceRecord(record(Finance.TransactionType.EXPENSE, "1.00"), user.getUsername());
+            }
+            return null;
+        });
+
+        // (1 seed + THREADS * ITERATIONS) * (3.00 - 1.00)
+        BigDecimal expected = BigDecimal.valueOf(2L * (1 + THREADS * ITERATIONS_PER_THREAD));
+        assertThat(userRepository.findBalanceById(user.getId())).isEqualByComparingTo(expected);
+    }
+
+    @Test
+    void concurrentDeletesRestoreTheBalance() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < THREADS * ITERATIONS_PER_THREAD; i++) {
+            ids.add(financeService.createFinanceRecord(
+                    record(Finance.TransactionType.INCOME, "5.00"), user.getUsername()).getId());
+        }
+        assertThat(userRepository.findBalanceById(user.getId()))
+                .isEqualByComparingTo(BigDecimal.valueOf(5L * ids.size()));
+
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            List<Long> slice = ids.subList(t * ITERATIONS_PER_THREAD, (t + 1) * ITERATIONS_PER_THREAD);
+            workers.add(() -> {
+                for (Long id : slice) {
+                    financeService.deleteFinanceRecord(id, user.getUsername());
+                }
+                return null;
+            });
+        }
+        runAll(workers);
+
+        assertThat(userRepository.findBalanceById(user.getId())).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    private void runConcurrently(Callable<Void> worker) throws Exception {
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(worker);
+        }
+        runAll(workers);
+    }
+
+    // Releases all workers at once to maximise contention, then propagates any failure
+    private void runAll(List<Callable<Void>> workers) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(workers.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> worker : workers) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return worker.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private AddFinance record(Finance.TransactionType type, String amount) {
+        AddFinance addFinance = new AddFinance();
+        addFinance.setTransactionDate(LocalDate.now());
+        addFinance.setDescription("Stress test");
+        addFinance.setAmount(new BigDecimal(amount));
+        addFinance.setCategory("Testing");
+        addFinance.setTransactionType(type);
+        return addFinance;
+    }
+}
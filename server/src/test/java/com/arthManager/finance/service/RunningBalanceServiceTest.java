@@ -0,0 +1,232 @@
+package com.arthManager.finance.service;
+
+import com.arthManager.finance.dto.AddFinance;
+import com.arthManager.finance.dto.BalancePointDto;
+import com.arthManager.finance.model.BalanceCheckpoint;
+import com.arthManager.finance.model.Finance;
+import com.arthManager.finance.repository.BalanceCheckpointRepository;
+import com.arthManager.user.model.User;
+import com.arthManager.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Back-dated writes only shift the checkpoints from their month forward; every balance read must still
+// equal a naive replay of all the user's rows
+@SpringBootTest
+class RunningBalanceServiceTest {
+
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000.00");
+
+    @Autowired
+    private FinanceService financeService;
+
+    @Autowired
+    private BalanceCheckpointService checkpointService;
+
+    @Autowired
+    private RunningBalanceService runningBalanceService;
+
+    @Autowired
+    private BalanceCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private LocalDate today;
+    private LocalDate start;
+
+    @BeforeEach
+    void createUserWithHistory() {
+        user = new User();
+        user.setUsername("balance-" + UUID.randomUUID());
+        user.setPassword("password");
+        user.setEmail("balance@example.com");
+        user.setBalance(OPENING_BALANCE);
+        user = userRepository.save(user);
+
+        today = LocalDate.now();
+        start = monthDay(8, 1);
+        create(monthDay(6, 5), Finance.TransactionType.INCOME, "500.00");
+        create(monthDay(5, 12), Finance.TransactionType.EXPENSE, "120.50");
+        create(monthDay(4, 3), Finance.TransactionType.LOAN, "300.00");
+        create(monthDay(3, 20), Finance.TransactionType.EXPENSE, "75.25");
+        create(monthDay(2, 1), Finance.TransactionType.INCOME, "210.00");
+        create(monthDay(1, 15), Finance.TransactionType.EXPENSE, "42.00");
+        create(today, Finance.TransactionType.EXPENSE, "10.00");
+    }
+
+    @Test
+    void checkpointsMatchReplay() {
+        checkpointService.ensureCheckpoints(user.getId(), YearMonth.from(today));
+
+        assertThat(checkpoints()).isNotEmpty();
+        assertMatchesReplay();
+    }
+
+    @Test
+    void backDatedInsertShiftsLaterCheckpoints() {
+        checkpointService.ensureCheckpoints(user.getId(), YearMonth.from(today));
+        List<BalanceCheckpoint> before = checkpoints();
+
+        create(monthDay(4, 10), Finance.TransactionType.INCOME, "33.33");
+
+        assertShiftedFrom(before, YearMonth.from(monthDay(4, 10)), new BigDecimal("33.33"));
+        assertMatchesReplay();
+    }
+
+    @Test
+    void backDatedUpdateShiftsLaterCheckpoints() {
+        Long id = create(monthDay(5, 20), Finance.TransactionType.EXPENSE, "60.00");
+        checkpointService.ensureCheckpoints(user.getId(), YearMonth.from(today));
+        List<BalanceCheckpoint> before = checkpoints();
+
+        // Moves the expense two months later and changes its amount
+        financeService.updateFinanceRecord(id, record(monthDay(3, 8), Finance.TransactionType.EXPENSE, "90.00"),
+                user.getUsername());
+
+        assertThat(checkpoints()).hasSameSizeAs(before);
+        assertMatchesReplay();
+    }
+
+    @Test
+    void backDatedDeleteShiftsLaterCheckpoints() {
+        Long id = create(monthDay(3, 25), Finance.TransactionType.INCOME, "18.00");
+        checkpointService.ensureCheckpoints(user.getId(), YearMonth.from(today));
+        List<BalanceCheckpoint> before = checkpoints();
+
+        financeService.deleteFinanceRecord(id, user.getUsername());
+
+        assertShiftedFrom(before, YearMonth.from(monthDay(3, 25)), new BigDecimal("-18.00"));
+        assertMatchesReplay();
+    }
+
+    @Test
+    void writeBeforeFirstCheckpointDropsAllCheckpoints() {
+        checkpointService.ensureCheckpoints(user.getId(), YearMonth.from(today));
+
+        create(monthDay(7, 9), Finance.TransactionType.EXPENSE, "25.00");
+
+        assertThat(checkpoints()).isEmpty();
+        checkpointService.ensureCheckpoints(user.getId(), YearMonth.from(today));
+        assertThat(checkpoints().get(0).getCheckpointMonth()).isEqualTo(YearMonth.from(monthDay(7, 9)).toString());
+        assertMatchesReplay();
+    }
+
+    @Test
+    void writeAfterLastCheckpointLeavesCheckpointsAlone() {
+        checkpointService.ensureCheckpoints(user.getId(), YearMonth.from(monthDay(3, 1)));
+        List<BalanceCheckpoint> before = checkpoints();
+
+        create(monthDay(1, 2), Finance.TransactionType.INCOME, "44.00");
+
+        assertShiftedFrom(before, YearMonth.from(today), BigDecimal.ZERO);
+        assertMatchesReplay();
+    }
+
+    @Test
+    void currentMonthWriteIsReadFromRows() {
+        checkpointService.ensureCheckpoints(user.getId(), YearMonth.from(today));
+        List<BalanceCheckpoint> before = checkpoints();
+
+        Long id = create(today, Finance.TransactionType.INCOME, "7.50");
+        financeService.updateFinanceRecord(id, record(today, Finance.TransactionType.EXPENSE, "2.50"), user.getUsername());
+
+        assertShiftedFrom(before, YearMonth.from(today), BigDecimal.ZERO);
+        assertMatchesReplay();
+    }
+
+    // Every checkpoint from `month` on moved by delta, every earlier one is unchanged
+    private void assertShiftedFrom(List<BalanceCheckpoint> before, YearMonth month, BigDecimal delta) {
+        List<BalanceCheckpoint> after = checkpoints();
+        assertThat(after).hasSameSizeAs(before);
+        for (int i = 0; i < before.size(); i++) {
+            assertThat(after.get(i).getCheckpointMonth()).isEqualTo(before.get(i).getCheckpointMonth());
+            BigDecimal expected = YearMonth.parse(before.get(i).getCheckpointMonth()).isBefore(month)
+                    ? before.get(i).getBalance()
+                    : before.get(i).getBalance().add(delta);
+            assertThat(after.get(i).getBalance()).isEqualByComparingTo(expected);
+        }
+    }
+
+    // Reads go through the same steps as FinanceService: checkpoints first, then balanceAt / dailyHistory
+    private void assertMatchesReplay() {
+        checkpointService.ensureCheckpoints(user.getId(), YearMonth.from(today));
+        List<Object[]> rows = jdbcTemplate.query(
+                "SELECT transaction_date, transaction_type, amount FROM finance WHERE user_id = ?",
+                (rs, i) -> new Object[]{rs.getDate(1).toLocalDate(), rs.getString(2), rs.getBigDecimal(3)},
+                user.getId());
+
+        List<BalancePointDto> daily = runningBalanceService.dailyHistory(user.getId(), start, today);
+        assertThat(daily).hasSize((int) (today.toEpochDay() - start.toEpochDay()) + 1);
+        for (BalancePointDto point : daily) {
+            assertThat(point.getBalance()).as("daily balance on %s", point.getDate())
+                    .isEqualByComparingTo(replay(rows, point.getDate()));
+        }
+        for (YearMonth month = YearMonth.from(start).minusMonths(1); month.isBefore(YearMonth.from(today));
+             month = month.plusMonths(1)) {
+            LocalDate monthEnd = month.atEndOfMonth();
+            assertThat(runningBalanceService.balanceAt(user.getId(), monthEnd).getBalance()).as("balance at %s", monthEnd)
+                    .isEqualByComparingTo(replay(rows, monthEnd));
+        }
+        assertThat(runningBalanceService.balanceAt(user.getId(), today).getBalance())
+                .isEqualByComparingTo(userRepository.findBalanceById(user.getId()));
+    }
+
+    private BigDecimal replay(List<Object[]> rows, LocalDate date) {
+        BigDecimal balance = OPENING_BALANCE;
+        for (Object[] row : rows) {
+            if (((LocalDate) row[0]).isAfter(date)) {
+                continue;
+            }
+            if ("INCOME".equals(row[1])) {
+                balance = balance.add((BigDecimal) row[2]);
+            } else if ("EXPENSE".equals(row[1])) {
+                balance = balance.subtract((BigDecimal) row[2]);
+            }
+        }
+        return balance;
+    }
+
+    private List<BalanceCheckpoint> checkpoints() {
+        return new ArrayList<>(checkpointRepository.findByUserIdAndCheckpointMonthBetweenOrderByCheckpointMonth(
+                user.getId(), "0000-01", "9999-12"));
+    }
+
+    // Day `day` of the month `monthsAgo` months before the current one
+    private LocalDate monthDay(int monthsAgo, int day) {
+        return today.withDayOfMonth(1).minusMonths(monthsAgo).plusDays(day - 1);
+    }
+
+    private Long create(LocalDate date, Finance.TransactionType type, String amount) {
+        return financeService.createFinanceRecord(record(date, type, amount), user.getUsername()).getId();
+    }
+
+    private AddFinance record(LocalDate date, Finance.TransactionType type, String amount) {
+        AddFinance addFinance = new AddFinance();
+        addFinance.setTransactionDate(date);
+        addFinance.setDescription("Balance test");
+        addFinance.setAmount(new BigDecimal(amount));
+        addFinance.setCategory("Testing");
+        addFinance.setTransactionType(type);
+        if (type == Finance.TransactionType.LOAN || type == Finance.TransactionType.BORROW) {
+            addFinance.setDueStatus(Finance.DueStatus.UNPAID);
+        }
+        return addFinance;
+    }
+}